@@ -0,0 +1,93 @@
+package com.DareUs.app;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.gms.tasks.Task;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared background pool for Firestore result processing (parsing snapshots, sorting,
+ * badge evaluation), so none of it runs on the main thread.
+ *
+ * Usage: BackgroundTasks.parse(query.get(), snapshot -> buildModel(snapshot))
+ *            .addOnSuccessListener(model -> updateViews(model));
+ * The parser runs on the pool; listeners without an executor run on the main looper
+ * as usual, so only the final view changes happen there.
+ */
+public class BackgroundTasks {
+
+    private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    // Unbounded on purpose - a bounded queue would have to reject, and running the work on
+    // the caller (usually the main thread, from a Firestore callback) defeats the point
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory());
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+    private static final Executor MAIN_EXECUTOR = MAIN::post;
+
+    static {
+        POOL.allowCoreThreadTimeOut(true);
+    }
+
+    public interface Parser<T, R> {
+        R parse(T result) throws Exception;
+    }
+
+    private BackgroundTasks() {
+    }
+
+    public static Executor background() {
+        return POOL;
+    }
+
+    public static Executor main() {
+        return MAIN_EXECUTOR;
+    }
+
+    /**
+     * Run the parser on the background pool once the task succeeds. Failures (of the task or
+     * the parser) come out as a failed task, so callers keep their usual failure listener.
+     */
+    public static <T, R> Task<R> parse(Task<T> task, Parser<T, R> parser) {
+        return task.continueWith(POOL, t -> {
+            if (t.isCanceled()) {
+                throw new CancellationException();
+            }
+            if (!t.isSuccessful()) {
+                throw t.getException();
+            }
+            return parser.parse(t.getResult());
+        });
+    }
+
+    public static void runOnMain(Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            MAIN.post(runnable);
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "dareus-bg-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.DareUs.app;
+
+import android.util.Log;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One in-memory snapshot of everything the badge checks need for a single event.
+ * Loads the user doc and the partner doc once, so every checker reads from memory
+ * instead of going back to Firestore. Dare history is only read when the user has
+ * no badgeStats aggregate yet (accounts created before it existed).
+ */
+public class BadgeEvaluationContext {
+
+    private static final String TAG = "BadgeEvaluationContext";
+
+    public interface LoadListener {
+        void onLoaded(BadgeEvaluationContext context);
+    }
+
+    private final String userId;
+    private final DocumentSnapshot userDoc;
+    private final DocumentSnapshot partnerDoc;
+    private final BadgeStats badgeStats;
+    private final boolean badgeStatsRebuilt;
+
+    private BadgeEvaluationContext(String userId, DocumentSnapshot userDoc, DocumentSnapshot partnerDoc,
+                                   BadgeStats badgeStats, boolean badgeStatsRebuilt) {
+        this.userId = userId;
+        this.userDoc = userDoc;
+        this.partnerDoc = partnerDoc;
+        this.badgeStats = badgeStats;
+        this.badgeStatsRebuilt = badgeStatsRebuilt;
+    }
+
+    /**
+     * Load the snapshot. The partner doc (and the history, if we need to seed badgeStats)
+     * are fetched in parallel once the user doc tells us who the partner is.
+     */
+    public static void load(FirebaseFirestore db, String userId, LoadListener listener) {
+        db.collection("dareus").document(userId)
+                .get()
+                .addOnSuccessListener(userDoc -> {
+                    if (!userDoc.exists()) {
+                        Log.w(TAG, "User doc missing, skipping badge evaluation");
+                        return;
+                    }
+
+                    String partnerId = userDoc.getString("partnerId");
+                    Task<DocumentSnapshot> partnerTask = partnerId != null && !partnerId.isEmpty()
+                            ? db.collection("dareus").document(partnerId).get()
+                            : Tasks.forResult(null);
+
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> storedStats = (Map<String, Object>) userDoc.get(BadgeStats.FIELD);
+                    boolean needsSeed = storedStats == null;
+
+                    // One-time seed for accounts without the aggregate
+                    Task<QuerySnapshot> historyTask = needsSeed
+                            ? db.collection("dares")
+                                    .whereEqualTo("toUserId", userId)
+                                    .whereEqualTo("status", "completed")
+                                    .orderBy("completedAt")
+                                    .get()
+                            : Tasks.forResult(null);
+
+                    Tasks.whenAllComplete(partnerTask, historyTask)
+                            .addOnCompleteListener(BackgroundTasks.background(), all -> {
+                                DocumentSnapshot partnerDoc = null;
+                                if (partnerTask.isSuccessful() && partnerTask.getResult() != null
+                                        && partnerTask.getResult().exists()) {
+                                    partnerDoc = partnerTask.getResult();
+                                } else if (!partnerTask.isSuccessful()) {
+                                    Log.e(TAG, "Error loading partner doc", partnerTask.getException());
+                                }
+
+                                BadgeStats stats;
+                                boolean rebuilt = false;
+                                if (!needsSeed) {
+                                    stats = BadgeStats.fromMap(storedStats);
+                                } else if (historyTask.isSuccessful()) {
+                                    stats = seedFromHistory(historyTask.getResult());
+                                    rebuilt = true;
+                                    Log.d(TAG, "Seeded badgeStats from " + stats.getTotalCompleted() + " completed dares");
+                                } else {
+                                    // Can't seed - skip this round rather than write a wrong aggregate
+                                    Log.e(TAG, "Error loading completed dares", historyTask.getException());
+                                    return;
+                                }
+
+                                listener.onLoaded(new BadgeEvaluationContext(userId, userDoc, partnerDoc,
+                                        stats, rebuilt));
+                            });
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error loading user doc", e));
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public DocumentSnapshot getUserDoc() {
+        return userDoc;
+    }
+
+    public boolean hasPartner() {
+        return partnerDoc != null;
+    }
+
+    public String getPartnerId() {
+        return partnerDoc != null ? partnerDoc.getId() : null;
+    }
+
+    public DocumentSnapshot getPartnerDoc() {
+        return partnerDoc;
+    }
+
+    public BadgeStats getBadgeStats() {
+        return badgeStats;
+    }
+
+    /**
+     * True when badgeStats was just rebuilt from the full history, which already
+     * includes the dare being evaluated - so callers must not record it again.
+     */
+    public boolean isBadgeStatsRebuilt() {
+        return badgeStatsRebuilt;
+    }
+
+    /**
+     * Plain-number view of both docs plus badgeStats, for the rule engine.
+     */
+    public BadgeSnapshot toSnapshot() {
+        return new BadgeSnapshot(userDoc.getData(), partnerDoc != null ? partnerDoc.getData() : null, badgeStats);
+    }
+
+    public int getUserInt(String field) {
+        Long value = userDoc.getLong(field);
+        return value != null ? value.intValue() : 0;
+    }
+
+    public int getPartnerInt(String field) {
+        if (partnerDoc == null) return 0;
+        Long value = partnerDoc.getLong(field);
+        return value != null ? value.intValue() : 0;
+    }
+
+    public String getUserString(String field) {
+        return userDoc.getString(field);
+    }
+
+    private static BadgeStats seedFromHistory(QuerySnapshot history) {
+        BadgeStats stats = new BadgeStats();
+        // History comes back ordered by completedAt, so the speed windows rebuild in one linear pass
+        List<Long> completionTimes = new ArrayList<>();
+        for (DocumentSnapshot doc : history.getDocuments()) {
+            Long completedAt = doc.getLong("completedAt");
+            if (completedAt != null) {
+                stats.countCompletion(doc.getString("category"), doc.getLong("sentAt"), completedAt);
+                completionTimes.add(completedAt);
+            }
+        }
+        stats.getSpeedWindows().rebuild(completionTimes);
+        return stats;
+    }
+}
@@ -0,0 +1,15 @@
+package com.DareUs.app;
+
+/**
+ * Things that can happen in the app that might unlock a badge.
+ * Each badge rule subscribes to the events it cares about (see BadgeRuleEngine).
+ */
+public enum BadgeEvent {
+    DARE_COMPLETED,
+    DARE_SENT,
+    CODE_SHARED,
+    CODE_REGENERATED,
+    PRIZE_REVEALED,
+    COMPETITION_CLOSED,
+    SCREEN_VISITED
+}
@@ -0,0 +1,34 @@
+package com.DareUs.app;
+
+/**
+ * Where one user stands on every badge, indexed by badge ordinal. Built in a single pass by
+ * BadgeSystem.progressFor from one stats snapshot, so a badge screen needs no extra reads.
+ */
+public final class BadgeProgress {
+
+    static final int UNMEASURED = -1;
+
+    private final int[] current;
+
+    BadgeProgress(int[] current) {
+        this.current = current;
+    }
+
+    // False for yes/no badges (competition results, secrets) - nothing to count towards
+    public boolean isMeasured(BadgeSystem.Badge badge) {
+        return current[badge.ordinal] != UNMEASURED;
+    }
+
+    // Capped at the requirement so "12 / 10" never shows
+    public int getCurrent(BadgeSystem.Badge badge) {
+        return isMeasured(badge) ? Math.min(current[badge.ordinal], badge.requirement) : 0;
+    }
+
+    public int getRequired(BadgeSystem.Badge badge) {
+        return badge.requirement;
+    }
+
+    public boolean isComplete(BadgeSystem.Badge badge) {
+        return isMeasured(badge) && current[badge.ordinal] >= badge.requirement;
+    }
+}
@@ -0,0 +1,223 @@
+package com.DareUs.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Declarative badge rules. Each badge says which events can unlock it and what has to be
+ * true in the BadgeSnapshot. Rules are indexed by event, so an event only evaluates the
+ * badges that subscribe to it. Thresholds come from BadgeSystem's requirement values.
+ *
+ * Rules added with measured() count something instead, unlock when the count reaches the
+ * requirement, and double as the progress shown on the badge screens.
+ *
+ * Adding a badge = one register() in BadgeSystem + one rule() or measured() line here, no new query path.
+ */
+public class BadgeRuleEngine {
+
+    // Per-event facts the caller sets on the snapshot (not stored on the user doc)
+    public static final String MONTHLY_POINTS = "monthlyPoints";
+    public static final String PARTNER_MONTHLY_POINTS = "partnerMonthlyPoints";
+    public static final String MAX_DEFICIT = "maxDeficit";
+    public static final String TOOK_LEAD_LAST_DAY = "tookLeadLastDay";
+    public static final String LED_ENTIRE_MONTH = "ledEntireMonth";
+    public static final String SCREENS_VISITED = "screensVisited";
+
+    // Screens that count towards Explorer
+    public static final String[] EXPLORER_SCREENS = {
+            "main", "dare_selection", "dare_inbox", "leaderboard", "badges",
+            "partner_badges", "partner_dares", "profile", "settings", "instructions"
+    };
+
+    private static final String[] CATEGORIES = {"Sweet", "Playful", "Adventure", "Passionate", "Wild"};
+
+    public interface Condition {
+        boolean test(BadgeSnapshot snapshot, int requirement);
+    }
+
+    public interface Measure {
+        int current(BadgeSnapshot snapshot, int requirement);
+    }
+
+    public static class Rule {
+        public final String badgeId;
+        public final EnumSet<BadgeEvent> triggers;
+        final Condition condition;
+        final Measure measure; // null for yes/no badges
+        // Resolved once - the registry is immutable, so this never goes stale
+        final BadgeSystem.Badge badge;
+
+        Rule(String badgeId, EnumSet<BadgeEvent> triggers, Condition condition, Measure measure) {
+            this.badgeId = badgeId;
+            this.triggers = triggers;
+            this.condition = condition;
+            this.measure = measure;
+            this.badge = BadgeSystem.get(badgeId);
+        }
+
+        public boolean matches(BadgeSnapshot snapshot) {
+            return badge != null && condition.test(snapshot, badge.requirement);
+        }
+
+        // Current value towards the requirement, or -1 if this badge has no partial progress
+        int progress(BadgeSnapshot snapshot) {
+            if (badge == null || measure == null) return -1;
+            return Math.max(0, measure.current(snapshot, badge.requirement));
+        }
+    }
+
+    private static final List<Rule> RULES = new ArrayList<>();
+    private static final Map<BadgeEvent, List<Rule>> RULES_BY_EVENT = new EnumMap<>(BadgeEvent.class);
+
+    static {
+        EnumSet<BadgeEvent> completed = EnumSet.of(BadgeEvent.DARE_COMPLETED);
+        EnumSet<BadgeEvent> closed = EnumSet.of(BadgeEvent.COMPETITION_CLOSED);
+
+        // Speed - from the badgeStats aggregate
+        measured("lightning_lover", completed, stats(badgeStats -> badgeStats.getSpeedWindows().getMax24h()));
+        measured("flash_forward", completed, stats(BadgeStats::getDay1Completions));
+        measured("speed_racer", completed, stats(BadgeStats::getFirst2DayCompletions));
+        measured("instant_gratification", completed, stats(badgeStats -> badgeStats.getSpeedWindows().getMax48h()));
+
+        // Categories
+        measured("sweet_soul", completed, category("Sweet"));
+        measured("playful_spirit", completed, category("Playful"));
+        measured("adventure_seeker", completed, category("Adventure"));
+        measured("passionate_heart", completed, category("Passionate"));
+        measured("wild_one", completed, category("Wild"));
+        measured("renaissance_lover", completed, BadgeRuleEngine::renaissanceProgress);
+
+        // Streaks
+        measured("warm_up", completed, field("streakCount"));
+        measured("getting_hot", completed, field("streakCount"));
+        measured("on_fire", completed, field("streakCount"));
+        measured("blazing", completed, field("streakCount"));
+        measured("inferno", completed, field("streakCount"));
+
+        // Partnership
+        measured("perfect_match", completed, field("sameDayCompletions"));
+        measured("synchronized_souls", completed, field("synchronizedCompletions"));
+        // Progress falls back to your own points when the partner doc wasn't loaded
+        rule("power_couple", completed, (s, req) ->
+                s.hasPartner() && s.getInt("points") + s.getPartnerInt("points") >= req,
+                (s, req) -> s.getInt("points") + s.getPartnerInt("points"));
+        rule("dynamic_duo", completed, (s, req) ->
+                s.hasPartner() && s.getInt("streakCount") >= 7 && s.getPartnerInt("streakCount") >= 7);
+
+        // Competition - running counters come from closeMonthlyCompetitions, the month's
+        // points and shape are set on the snapshot by checkCompetitionBadges
+        rule("monthly_champion", closed, (s, req) -> won(s));
+        rule("close_call", closed, (s, req) -> won(s) && margin(s) <= 5);
+        rule("dominator", closed, (s, req) -> won(s) && margin(s) >= 100);
+        rule("comeback_kid", closed, (s, req) -> won(s) && s.getInt(MAX_DEFICIT) >= 50);
+        rule("final_hour", closed, (s, req) -> won(s) && s.is(TOOK_LEAD_LAST_DAY));
+        rule("early_bird_winner", closed, (s, req) -> won(s) && s.is(LED_ENTIRE_MONTH));
+        rule("photo_finish", closed, (s, req) ->
+                s.getInt(MONTHLY_POINTS) > 0 && s.getInt(MONTHLY_POINTS) == s.getInt(PARTNER_MONTHLY_POINTS));
+        measured("competitive_spirit", closed, field("competitionsParticipated"));
+        measured("hat_trick", closed, field("winStreak"));
+        measured("rivalry_master", closed, field("totalWins"));
+
+        // Milestones
+        measured("first_steps", completed, stats(BadgeStats::getTotalCompleted));
+        measured("getting_started", completed, field("points"));
+        measured("point_collector", completed, field("points"));
+        measured("point_master", completed, field("points"));
+        measured("point_legend", completed, field("points"));
+
+        // Sending / time of day
+        measured("generous_giver", EnumSet.of(BadgeEvent.DARE_SENT), field("daresSent"));
+        measured("dare_devil", EnumSet.of(BadgeEvent.DARE_SENT), field("daresSent"));
+        measured("night_owl", completed, field("nightOwlCount"));
+        measured("early_bird", completed, field("earlyBirdCount"));
+        measured("weekend_warrior", completed, field("weekendWarriorCount"));
+
+        // Special / secret
+        measured("social_butterfly", EnumSet.of(BadgeEvent.CODE_SHARED), field("codeShares"));
+        rule("code_breaker", EnumSet.of(BadgeEvent.PRIZE_REVEALED), (s, req) -> true);
+        rule("second_chance", EnumSet.of(BadgeEvent.CODE_REGENERATED), (s, req) -> true);
+        rule("explorer", EnumSet.of(BadgeEvent.SCREEN_VISITED), (s, req) ->
+                s.getInt(SCREENS_VISITED) >= EXPLORER_SCREENS.length);
+    }
+
+    private static void rule(String badgeId, EnumSet<BadgeEvent> triggers, Condition condition) {
+        rule(badgeId, triggers, condition, null);
+    }
+
+    private static void measured(String badgeId, EnumSet<BadgeEvent> triggers, Measure measure) {
+        rule(badgeId, triggers, (s, req) -> measure.current(s, req) >= req, measure);
+    }
+
+    private static void rule(String badgeId, EnumSet<BadgeEvent> triggers, Condition condition, Measure measure) {
+        Rule rule = new Rule(badgeId, triggers, condition, measure);
+        RULES.add(rule);
+        for (BadgeEvent event : triggers) {
+            List<Rule> rules = RULES_BY_EVENT.get(event);
+            if (rules == null) {
+                rules = new ArrayList<>();
+                RULES_BY_EVENT.put(event, rules);
+            }
+            rules.add(rule);
+        }
+    }
+
+    private static Measure field(String field) {
+        return (s, req) -> s.getInt(field);
+    }
+
+    private static Measure category(String category) {
+        return (s, req) -> s.getBadgeStats().getCategoryCount(category);
+    }
+
+    private static Measure stats(ToIntFunction<BadgeStats> value) {
+        return (s, req) -> value.applyAsInt(s.getBadgeStats());
+    }
+
+    // Requirement is the 25 total; each category needs a fifth of it, so only counts up to
+    // that fifth add to the progress
+    private static int renaissanceProgress(BadgeSnapshot s, int req) {
+        int progress = 0;
+        for (String category : CATEGORIES) {
+            progress += Math.min(s.getBadgeStats().getCategoryCount(category), req / CATEGORIES.length);
+        }
+        return progress;
+    }
+
+    private static boolean won(BadgeSnapshot s) {
+        return s.getInt(MONTHLY_POINTS) > s.getInt(PARTNER_MONTHLY_POINTS);
+    }
+
+    private static int margin(BadgeSnapshot s) {
+        return Math.abs(s.getInt(MONTHLY_POINTS) - s.getInt(PARTNER_MONTHLY_POINTS));
+    }
+
+    /**
+     * Badge IDs whose rule holds for this event. Only rules subscribed to the event run.
+     */
+    public static List<String> evaluate(BadgeEvent event, BadgeSnapshot snapshot) {
+        List<Rule> rules = RULES_BY_EVENT.get(event);
+        if (rules == null) return Collections.emptyList();
+
+        List<String> earned = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.matches(snapshot)) {
+                earned.add(rule.badgeId);
+            }
+        }
+        return earned;
+    }
+
+    public static List<Rule> getRules() {
+        return Collections.unmodifiableList(RULES);
+    }
+
+    public static List<Rule> getRules(BadgeEvent event) {
+        List<Rule> rules = RULES_BY_EVENT.get(event);
+        return rules != null ? Collections.unmodifiableList(rules) : Collections.<Rule>emptyList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.DareUs.app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain numbers the badge rules look at - user doc fields, partner doc fields and the
+ * badgeStats aggregate. No Firebase types so the rules can run anywhere.
+ *
+ * Callers set() any values that changed during the event (new streak, incremented
+ * counters, competition results) before handing it to the rule engine.
+ */
+public class BadgeSnapshot {
+
+    private final Map<String, Long> user = new HashMap<>();
+    private final Map<String, Long> partner = new HashMap<>();
+    private final boolean hasPartner;
+    private final BadgeStats badgeStats;
+
+    public BadgeSnapshot(Map<String, Object> userData, Map<String, Object> partnerData, BadgeStats badgeStats) {
+        copyNumbers(userData, user);
+        copyNumbers(partnerData, partner);
+        this.hasPartner = partnerData != null;
+        this.badgeStats = badgeStats != null ? badgeStats : new BadgeStats();
+    }
+
+    // Straight from the user doc (and the partner's, if loaded), badgeStats included
+    @SuppressWarnings("unchecked")
+    public static BadgeSnapshot fromDocs(Map<String, Object> userData, Map<String, Object> partnerData) {
+        Object stats = userData != null ? userData.get(BadgeStats.FIELD) : null;
+        return new BadgeSnapshot(userData, partnerData,
+                stats instanceof Map ? BadgeStats.fromMap((Map<String, Object>) stats) : null);
+    }
+
+    public static BadgeSnapshot empty() {
+        return new BadgeSnapshot(null, null, null);
+    }
+
+    public BadgeSnapshot set(String field, long value) {
+        user.put(field, value);
+        return this;
+    }
+
+    public BadgeSnapshot set(String field, boolean value) {
+        return set(field, value ? 1 : 0);
+    }
+
+    // Override a partner value (e.g. a recomputed streak when replaying history)
+    public BadgeSnapshot setPartner(String field, long value) {
+        partner.put(field, value);
+        return this;
+    }
+
+    public int getInt(String field) {
+        Long value = user.get(field);
+        return value != null ? value.intValue() : 0;
+    }
+
+    public boolean is(String field) {
+        return getInt(field) != 0;
+    }
+
+    public int getPartnerInt(String field) {
+        Long value = partner.get(field);
+        return value != null ? value.intValue() : 0;
+    }
+
+    public boolean hasPartner() {
+        return hasPartner;
+    }
+
+    public BadgeStats getBadgeStats() {
+        return badgeStats;
+    }
+
+    private static void copyNumbers(Map<String, Object> from, Map<String, Long> to) {
+        if (from == null) return;
+        for (Map.Entry<String, Object> entry : from.entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                to.put(entry.getKey(), ((Number) entry.getValue()).longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.DareUs.app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running badge aggregate kept on the user doc under "badgeStats".
+ * Updated once per completion so badge checks never have to rescan the dare history.
+ */
+public class BadgeStats {
+
+    public static final String FIELD = "badgeStats";
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private int totalCompleted;
+    private int day1Completions;
+    private int first2DayCompletions;
+    private SpeedWindowTracker speedWindows = new SpeedWindowTracker();
+
+    public BadgeStats() {
+    }
+
+    /**
+     * Rebuild from the stored map. Firestore hands numbers back as Long, but accept any Number.
+     */
+    @SuppressWarnings("unchecked")
+    public static BadgeStats fromMap(Map<String, Object> map) {
+        BadgeStats stats = new BadgeStats();
+        if (map == null) return stats;
+
+        stats.totalCompleted = asInt(map.get("totalCompleted"));
+        stats.day1Completions = asInt(map.get("day1Completions"));
+        stats.first2DayCompletions = asInt(map.get("first2DayCompletions"));
+
+        Object counts = map.get("categoryCounts");
+        if (counts instanceof Map) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) counts).entrySet()) {
+                stats.categoryCounts.put(entry.getKey(), asInt(entry.getValue()));
+            }
+        }
+
+        stats.speedWindows = SpeedWindowTracker.fromMap(map);
+        return stats;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("totalCompleted", totalCompleted);
+        map.put("day1Completions", day1Completions);
+        map.put("first2DayCompletions", first2DayCompletions);
+        map.put("categoryCounts", new HashMap<>(categoryCounts));
+        speedWindows.writeTo(map);
+        return map;
+    }
+
+    /**
+     * Fold one completed dare into the aggregate. sentAt may be null for very old dares.
+     * Returns the counter deltas, keyed by path inside the badgeStats map, so they can be
+     * written as increments. The speed windows aren't counters - write getSpeedWindows().
+     */
+    public Map<String, Integer> recordCompletion(String category, Long sentAt, long completedAt) {
+        Map<String, Integer> deltas = countCompletion(category, sentAt, completedAt);
+        speedWindows.add(completedAt);
+        return deltas;
+    }
+
+    /**
+     * Counters only. Used when seeding from history, where the speed windows are
+     * rebuilt in one pass afterwards with SpeedWindowTracker.rebuild().
+     */
+    public Map<String, Integer> countCompletion(String category, Long sentAt, long completedAt) {
+        Map<String, Integer> deltas = new HashMap<>();
+
+        totalCompleted++;
+        deltas.put("totalCompleted", 1);
+
+        if (category != null) {
+            Integer current = categoryCounts.get(category);
+            categoryCounts.put(category, current != null ? current + 1 : 1);
+            deltas.put("categoryCounts." + category, 1);
+        }
+
+        if (sentAt != null) {
+            // Same day-numbering as the points bonus: day 0 becomes day 1
+            int daysElapsed = (int) ((completedAt - sentAt) / DAY_MILLIS) + 1;
+            if (daysElapsed == 1) {
+                day1Completions++;
+                deltas.put("day1Completions", 1);
+            }
+            if (daysElapsed <= 2) {
+                first2DayCompletions++;
+                deltas.put("first2DayCompletions", 1);
+            }
+        }
+
+        return deltas;
+    }
+
+    public int getTotalCompleted() {
+        return totalCompleted;
+    }
+
+    public int getDay1Completions() {
+        return day1Completions;
+    }
+
+    public int getFirst2DayCompletions() {
+        return first2DayCompletions;
+    }
+
+    public int getCategoryCount(String category) {
+        Integer count = categoryCounts.get(category);
+        return count != null ? count : 0;
+    }
+
+    public SpeedWindowTracker getSpeedWindows() {
+        return speedWindows;
+    }
+
+    private static int asInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.DareUs.app;
+
+import android.util.Log;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects every stat change from one badge event and writes them in a single batch.
+ * Counters go through FieldValue.increment so nothing has to be read first and two
+ * writers can't overwrite each other's counts.
+ */
+public class BadgeStatsWriter {
+
+    private static final String TAG = "BadgeStatsWriter";
+
+    private final FirebaseFirestore db;
+    private final DocumentReference userRef;
+    private final Map<String, Long> increments = new HashMap<>();
+    private final Map<String, Object> values = new HashMap<>();
+
+    public BadgeStatsWriter(FirebaseFirestore db, String userId) {
+        this.db = db;
+        this.userRef = db.collection("dareus").document(userId);
+    }
+
+    // Deltas to the same field are coalesced
+    public BadgeStatsWriter increment(String field, long delta) {
+        Long current = increments.get(field);
+        increments.put(field, current != null ? current + delta : delta);
+        return this;
+    }
+
+    // Plain overwrite for values that aren't counters (streak, timestamps, lists)
+    public BadgeStatsWriter set(String field, Object value) {
+        values.put(field, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return increments.isEmpty() && values.isEmpty();
+    }
+
+    public Task<Void> commit() {
+        if (isEmpty()) return Tasks.forResult(null);
+
+        Map<String, Object> updates = new HashMap<>(values);
+        for (Map.Entry<String, Long> entry : increments.entrySet()) {
+            updates.put(entry.getKey(), FieldValue.increment(entry.getValue()));
+        }
+
+        WriteBatch batch = db.batch();
+        batch.update(userRef, updates);
+
+        increments.clear();
+        values.clear();
+
+        return batch.commit()
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "✅ Wrote " + updates.size() + " stat fields"))
+                .addOnFailureListener(e -> Log.e(TAG, "Error writing stats", e));
+    }
+}
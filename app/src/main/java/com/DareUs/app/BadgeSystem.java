@@ -1,125 +1,231 @@
 package com.DareUs.app;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-public class BadgeSystem {
+/**
+ * Immutable badge registry. Every badge gets a dense ordinal (its registration order) so
+ * unlocked sets can be bitsets, and the per-section lists the badge screens render are
+ * built once at class load instead of every time a screen draws.
+ */
+public final class BadgeSystem {
 
-    public static final Map<String, Badge> BADGES = new HashMap<>();
+    // The groups the badge screens render, in screen order
+    public enum Section { SPEED, CATEGORY, STREAK, PARTNERSHIP, COMPETITION, MILESTONE, SPECIAL }
+
+    private static final Map<String, Badge> REGISTRY = new LinkedHashMap<>();
+
+    // Read-only view, id -> badge. Prefer ordinals once you have one
+    public static final Map<String, Badge> BADGES = Collections.unmodifiableMap(REGISTRY);
+
+    private static final Badge[] BY_ORDINAL;
+    private static final Map<Section, List<Badge>> BY_SECTION = new EnumMap<>(Section.class);
 
     static {
         // Speed Demon Badges
-        BADGES.put("lightning_lover", new Badge("⚡", "Lightning Lover",
-                "Complete 5 dares within 24 hours", "speed", 5));
-        BADGES.put("flash_forward", new Badge("🏃‍♂️", "Flash Forward",
-                "Complete 10 dares on Day 1 (100% bonus)", "speed", 10));
-        BADGES.put("speed_racer", new Badge("🏎️", "Speed Racer",
-                "Complete 10 dares within first 2 days", "speed", 10));
-        BADGES.put("instant_gratification", new Badge("💨", "Instant Gratification",
-                "Complete 15 dares within 48 hours", "speed", 15));
+        register("lightning_lover", "⚡", "Lightning Lover",
+                "Complete 5 dares within 24 hours", "speed", 5);
+        register("flash_forward", "🏃‍♂️", "Flash Forward",
+                "Complete 10 dares on Day 1 (100% bonus)", "speed", 10);
+        register("speed_racer", "🏎️", "Speed Racer",
+                "Complete 10 dares within first 2 days", "speed", 10);
+        register("instant_gratification", "💨", "Instant Gratification",
+                "Complete 15 dares within 48 hours", "speed", 15);
 
         // Category Master Badges
-        BADGES.put("sweet_soul", new Badge("🍯", "Sweet Soul",
-                "Complete 10 Sweet dares", "category_sweet", 10));
-        BADGES.put("playful_spirit", new Badge("🎭", "Playful Spirit",
-                "Complete 10 Playful dares", "category_playful", 10));
-        BADGES.put("adventure_seeker", new Badge("🗺️", "Adventure Seeker",
-                "Complete 10 Adventure dares", "category_adventure", 10));
-        BADGES.put("passionate_heart", new Badge("❤️‍🔥", "Passionate Heart",
-                "Complete 10 Passionate dares", "category_passionate", 10));
-        BADGES.put("wild_one", new Badge("🦁", "Wild One",
-                "Complete 10 Wild dares", "category_wild", 10));
-        BADGES.put("renaissance_lover", new Badge("🎨", "Renaissance Lover",
-                "Complete 5 dares in each category", "category_mixed", 25));
+        register("sweet_soul", "🍯", "Sweet Soul",
+                "Complete 10 Sweet dares", "category_sweet", 10);
+        register("playful_spirit", "🎭", "Playful Spirit",
+                "Complete 10 Playful dares", "category_playful", 10);
+        register("adventure_seeker", "🗺️", "Adventure Seeker",
+                "Complete 10 Adventure dares", "category_adventure", 10);
+        register("passionate_heart", "❤️‍🔥", "Passionate Heart",
+                "Complete 10 Passionate dares", "category_passionate", 10);
+        register("wild_one", "🦁", "Wild One",
+                "Complete 10 Wild dares", "category_wild", 10);
+        register("renaissance_lover", "🎨", "Renaissance Lover",
+                "Complete 5 dares in each category", "category_mixed", 25);
 
         // Streak Badges
-        BADGES.put("warm_up", new Badge("🔥", "Warm-Up",
-                "3-day completion streak", "streak", 3));
-        BADGES.put("getting_hot", new Badge("🌡️", "Getting Hot",
-                "7-day completion streak", "streak", 7));
-        BADGES.put("on_fire", new Badge("🔥", "On Fire",
-                "14-day completion streak", "streak", 14));
-        BADGES.put("blazing", new Badge("🌋", "Blazing",
-                "30-day completion streak", "streak", 30));
-        BADGES.put("inferno", new Badge("☄️", "Inferno",
-                "60-day completion streak", "streak", 60));
+        register("warm_up", "🔥", "Warm-Up",
+                "3-day completion streak", "streak", 3);
+        register("getting_hot", "🌡️", "Getting Hot",
+                "7-day completion streak", "streak", 7);
+        register("on_fire", "🔥", "On Fire",
+                "14-day completion streak", "streak", 14);
+        register("blazing", "🌋", "Blazing",
+                "30-day completion streak", "streak", 30);
+        register("inferno", "☄️", "Inferno",
+                "60-day completion streak", "streak", 60);
 
         // Partnership Badges
-        BADGES.put("perfect_match", new Badge("💑", "Perfect Match",
-                "Both partners complete dares on same day 5 times", "partnership", 5));
-        BADGES.put("synchronized_souls", new Badge("⚡", "Synchronized Souls",
-                "Complete dares within 1 hour of each other 10 times", "partnership", 10));
-        BADGES.put("power_couple", new Badge("💪", "Power Couple",
-                "Combined 1000 points as a couple", "partnership", 1000));
-        BADGES.put("dynamic_duo", new Badge("👥", "Dynamic Duo",
-                "Both maintain 7+ day streaks simultaneously", "partnership", 1));
+        register("perfect_match", "💑", "Perfect Match",
+                "Both partners complete dares on same day 5 times", "partnership", 5);
+        register("synchronized_souls", "⚡", "Synchronized Souls",
+                "Complete dares within 1 hour of each other 10 times", "partnership", 10);
+        register("power_couple", "💪", "Power Couple",
+                "Combined 1000 points as a couple", "partnership", 1000);
+        register("dynamic_duo", "👥", "Dynamic Duo",
+                "Both maintain 7+ day streaks simultaneously", "partnership", 1);
 
         // Competition Badges - NEW CATEGORY!
-        BADGES.put("monthly_champion", new Badge("🏆", "Monthly Champion",
-                "Win a monthly competition", "competition", 1));
-        BADGES.put("close_call", new Badge("😅", "Close Call",
-                "Win by 5 points or less", "competition", 1));
-        BADGES.put("comeback_kid", new Badge("🔄", "Comeback Kid",
-                "Win after being behind by 50+ points", "competition", 1));
-        BADGES.put("dominator", new Badge("👑", "Dominator",
-                "Win by 100+ points", "competition", 1));
-        BADGES.put("competitive_spirit", new Badge("⚔️", "Competitive Spirit",
-                "Participate in 3 monthly competitions", "competition", 3));
-        BADGES.put("hat_trick", new Badge("🎩", "Hat Trick",
-                "Win 3 months in a row", "competition", 3));
-        BADGES.put("rivalry_master", new Badge("🥊", "Rivalry Master",
-                "Win 5 monthly competitions", "competition", 5));
-        BADGES.put("final_hour", new Badge("⏰", "Final Hour",
-                "Take the lead in the last day of competition", "competition", 1));
-        BADGES.put("early_bird_winner", new Badge("🐦", "Early Bird Winner",
-                "Lead the entire month and win", "competition", 1));
-        BADGES.put("photo_finish", new Badge("📸", "Photo Finish",
-                "Tie in monthly points (both win)", "competition", 1));
+        register("monthly_champion", "🏆", "Monthly Champion",
+                "Win a monthly competition", "competition", 1);
+        register("close_call", "😅", "Close Call",
+                "Win by 5 points or less", "competition", 1);
+        register("comeback_kid", "🔄", "Comeback Kid",
+                "Win after being behind by 50+ points", "competition", 1);
+        register("dominator", "👑", "Dominator",
+                "Win by 100+ points", "competition", 1);
+        register("competitive_spirit", "⚔️", "Competitive Spirit",
+                "Participate in 3 monthly competitions", "competition", 3);
+        register("hat_trick", "🎩", "Hat Trick",
+                "Win 3 months in a row", "competition", 3);
+        register("rivalry_master", "🥊", "Rivalry Master",
+                "Win 5 monthly competitions", "competition", 5);
+        register("final_hour", "⏰", "Final Hour",
+                "Take the lead in the last day of competition", "competition", 1);
+        register("early_bird_winner", "🐦", "Early Bird Winner",
+                "Lead the entire month and win", "competition", 1);
+        register("photo_finish", "📸", "Photo Finish",
+                "Tie in monthly points (both win)", "competition", 1);
 
         // Milestone Badges
-        BADGES.put("first_steps", new Badge("👶", "First Steps",
-                "Complete your first dare", "milestone", 1));
-        BADGES.put("getting_started", new Badge("🌱", "Getting Started",
-                "Earn 100 points", "milestone", 100));
-        BADGES.put("point_collector", new Badge("💎", "Point Collector",
-                "Earn 500 points", "milestone", 500));
-        BADGES.put("point_master", new Badge("🏅", "Point Master",
-                "Earn 1000 points", "milestone", 1000));
-        BADGES.put("point_legend", new Badge("🌟", "Point Legend",
-                "Earn 2500 points", "milestone", 2500));
+        register("first_steps", "👶", "First Steps",
+                "Complete your first dare", "milestone", 1);
+        register("getting_started", "🌱", "Getting Started",
+                "Earn 100 points", "milestone", 100);
+        register("point_collector", "💎", "Point Collector",
+                "Earn 500 points", "milestone", 500);
+        register("point_master", "🏅", "Point Master",
+                "Earn 1000 points", "milestone", 1000);
+        register("point_legend", "🌟", "Point Legend",
+                "Earn 2500 points", "milestone", 2500);
 
         // Special Behavior Badges
-        BADGES.put("generous_giver", new Badge("🎁", "Generous Giver",
-                "Send 25 dares to partner", "sender", 25));
-        BADGES.put("dare_devil", new Badge("😈", "Dare Devil",
-                "Send 50 dares to partner", "sender", 50));
-        BADGES.put("night_owl", new Badge("🦉", "Night Owl",
-                "Complete 5 dares after 10 PM", "time", 5));
-        BADGES.put("early_bird", new Badge("🐦", "Early Bird",
-                "Complete 5 dares before 8 AM", "time", 5));
-        BADGES.put("weekend_warrior", new Badge("⚔️", "Weekend Warrior",
-                "Complete 10 dares on weekends", "time", 10));
+        register("generous_giver", "🎁", "Generous Giver",
+                "Send 25 dares to partner", "sender", 25);
+        register("dare_devil", "😈", "Dare Devil",
+                "Send 50 dares to partner", "sender", 50);
+        register("night_owl", "🦉", "Night Owl",
+                "Complete 5 dares after 10 PM", "time", 5);
+        register("early_bird", "🐦", "Early Bird",
+                "Complete 5 dares before 8 AM", "time", 5);
+        register("weekend_warrior", "⚔️", "Weekend Warrior",
+                "Complete 10 dares on weekends", "time", 10);
 
         // Secret/Hidden Badges
-        BADGES.put("social_butterfly", new Badge("🦋", "Social Butterfly",
-                "Share your invite code 3 times", "special", 3));
-        BADGES.put("code_breaker", new Badge("🔍", "Code Breaker",
-                "Use the 'Peek at Prize' feature", "secret", 1));
-        BADGES.put("second_chance", new Badge("🔄", "Second Chance",
-                "Regenerate your invite code", "secret", 1));
-        BADGES.put("explorer", new Badge("🧭", "Explorer",
-                "Access every screen in the app", "secret", 1));
+        register("social_butterfly", "🦋", "Social Butterfly",
+                "Share your invite code 3 times", "special", 3);
+        register("code_breaker", "🔍", "Code Breaker",
+                "Use the 'Peek at Prize' feature", "secret", 1);
+        register("second_chance", "🔄", "Second Chance",
+                "Regenerate your invite code", "secret", 1);
+        register("explorer", "🧭", "Explorer",
+                "Access every screen in the app", "secret", 1);
+
+        BY_ORDINAL = REGISTRY.values().toArray(new Badge[0]);
+
+        Map<Section, List<Badge>> grouped = new EnumMap<>(Section.class);
+        for (Section section : Section.values()) grouped.put(section, new ArrayList<>());
+        for (Badge badge : BY_ORDINAL) grouped.get(badge.section).add(badge);
+        for (Section section : Section.values()) {
+            List<Badge> badges = grouped.get(section);
+            BY_SECTION.put(section, Collections.unmodifiableList(Arrays.asList(badges.toArray(new Badge[0]))));
+        }
+    }
+
+    // Insertion order is the badge ordinal - append new badges at the end, never reorder
+    private static void register(String id, String emoji, String name, String description, String type, int requirement) {
+        if (REGISTRY.containsKey(id)) throw new IllegalStateException("Duplicate badge: " + id);
+        REGISTRY.put(id, new Badge(id, REGISTRY.size(), emoji, name, description, type, requirement));
+    }
+
+    public static Badge get(String badgeId) {
+        return badgeId != null ? REGISTRY.get(badgeId) : null;
+    }
+
+    public static Badge byOrdinal(int ordinal) {
+        return BY_ORDINAL[ordinal];
+    }
+
+    // Dense index for bitsets, -1 for unknown IDs
+    public static int ordinalOf(String badgeId) {
+        Badge badge = get(badgeId);
+        return badge != null ? badge.ordinal : -1;
+    }
+
+    public static String idAt(int ordinal) {
+        return BY_ORDINAL[ordinal].id;
+    }
+
+    public static int count() {
+        return BY_ORDINAL.length;
+    }
+
+    // A badge ID list (e.g. a user doc's unlockedBadges) as a bitset by ordinal, unknown IDs dropped
+    public static BitSet ordinalsOf(List<?> badgeIds) {
+        BitSet ordinals = new BitSet(count());
+        if (badgeIds == null) return ordinals;
+        for (Object badgeId : badgeIds) {
+            int ordinal = badgeId instanceof String ? ordinalOf((String) badgeId) : -1;
+            if (ordinal >= 0) ordinals.set(ordinal);
+        }
+        return ordinals;
+    }
+
+    // Precomputed at class load, in ordinal order - safe to iterate on every render
+    public static List<Badge> badgesIn(Section section) {
+        return BY_SECTION.get(section);
+    }
+
+    /**
+     * Current/required progress on every badge, in one pass over the rules. The snapshot is
+     * usually BadgeSnapshot.fromDocs(userDoc) - everything the measures need is on it.
+     */
+    public static BadgeProgress progressFor(BadgeSnapshot snapshot) {
+        int[] current = new int[count()];
+        Arrays.fill(current, BadgeProgress.UNMEASURED);
+        for (BadgeRuleEngine.Rule rule : BadgeRuleEngine.getRules()) {
+            int progress = rule.progress(snapshot);
+            if (progress >= 0) current[rule.badge.ordinal] = progress;
+        }
+        return new BadgeProgress(current);
+    }
+
+    private static Section sectionFor(String type) {
+        if (type.startsWith("category_")) return Section.CATEGORY;
+        switch (type) {
+            case "speed": return Section.SPEED;
+            case "streak": return Section.STREAK;
+            case "partnership": return Section.PARTNERSHIP;
+            case "competition": return Section.COMPETITION;
+            case "milestone": return Section.MILESTONE;
+            default: return Section.SPECIAL; // sender, time, special, secret
+        }
     }
 
-    public static class Badge {
-        public String emoji;
-        public String name;
-        public String description;
-        public String type;
-        public int requirement;
-        public boolean isHidden;
+    public static final class Badge {
+        public final String id;
+        public final int ordinal;
+        public final Section section;
+        public final String emoji;
+        public final String name;
+        public final String description;
+        public final String type;
+        public final int requirement;
+        public final boolean isHidden;
 
-        public Badge(String emoji, String name, String description, String type, int requirement) {
+        private Badge(String id, int ordinal, String emoji, String name, String description, String type, int requirement) {
+            this.id = id;
+            this.ordinal = ordinal;
+            this.section = sectionFor(type);
             this.emoji = emoji;
             this.name = name;
             this.description = description;
@@ -128,4 +234,4 @@ public class BadgeSystem {
             this.isHidden = type.equals("secret");
         }
     }
-}
\ No newline at end of file
+}
@@ -13,7 +13,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class BadgesActivity extends AppCompatActivity {
@@ -22,12 +22,14 @@ public class BadgesActivity extends AppCompatActivity {
     private FirebaseFirestore db;
     private FirebaseUser currentUser;
     private LinearLayout mainLayout;
-    private List<String> unlockedBadges = new ArrayList<>();
+    private BitSet unlockedBadges = new BitSet(BadgeSystem.count()); // by badge ordinal
+    private BadgeProgress progress = BadgeSystem.progressFor(BadgeSnapshot.empty());
     private int totalPoints = 0;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "badges");
 
         mAuth = FirebaseAuth.getInstance();
         db = FirebaseFirestore.getInstance();
@@ -167,36 +169,19 @@ public class BadgesActivity extends AppCompatActivity {
     }
 
     private void loadUserData() {
-        // Load user points and stats
+        // One read - points, unlocked badges and every badge's progress are all on the user doc
         db.collection("dareus").document(currentUser.getUid())
                 .get()
                 .addOnSuccessListener(doc -> {
                     if (doc.exists()) {
                         Long points = doc.getLong("points");
                         totalPoints = points != null ? points.intValue() : 0;
-                        loadUserBadges();
-                    }
-                });
-    }
-
-    private void loadUserBadges() {
-        Log.d("BadgesActivity", "Loading badges for user: " + currentUser.getUid());
 
-        db.collection("userBadges")
-                .whereEqualTo("userId", currentUser.getUid())
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    unlockedBadges.clear();
-                    Log.d("BadgesActivity", "Found " + querySnapshot.size() + " unlocked badges");
-
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : querySnapshot) {
-                        String badgeId = doc.getString("badgeId");
-                        if (badgeId != null) {
-                            unlockedBadges.add(badgeId);
-                            Log.d("BadgesActivity", "Unlocked badge: " + badgeId);
-                        }
+                        unlockedBadges = BadgeSystem.ordinalsOf((List<?>) doc.get("unlockedBadges"));
+                        progress = BadgeSystem.progressFor(BadgeSnapshot.fromDocs(doc.getData(), null));
+                        Log.d("BadgesActivity", "Found " + unlockedBadges.cardinality() + " unlocked badges");
+                        updateStatsAndDisplayBadges();
                     }
-                    updateStatsAndDisplayBadges();
                 })
                 .addOnFailureListener(e -> {
                     Log.e("BadgesActivity", "Error loading badges", e);
@@ -206,8 +191,8 @@ public class BadgesActivity extends AppCompatActivity {
 
     private void updateStatsAndDisplayBadges() {
         // Update summary stats
-        int totalBadges = BadgeSystem.BADGES.size();
-        int earnedBadges = unlockedBadges.size();
+        int totalBadges = BadgeSystem.count();
+        int earnedBadges = unlockedBadges.cardinality();
         int completionPercent = (int) ((float) earnedBadges / totalBadges * 100);
 
         updateStatValue("Badges Earned", String.valueOf(earnedBadges));
@@ -247,16 +232,18 @@ public class BadgesActivity extends AppCompatActivity {
 
     private void displayBadges() {
         // 🎉 ALL BADGES VISIBLE - NO MORE HIDING!
-        createBadgeCategory("🏃 Speed Demon", getSpeedBadges(), "Complete dares quickly for massive bonuses!");
-        createBadgeCategory("🎯 Category Master", getCategoryBadges(), "Conquer every type of dare challenge!");
-        createBadgeCategory("🔥 Streak Legend", getStreakBadges(), "Build unstoppable completion streaks!");
-        createBadgeCategory("💝 Power Couple", getPartnershipBadges(), "Perfect teamwork with your partner!");
-        createBadgeCategory("🏆 Competition King/Queen", getCompetitionBadges(), "Dominate monthly competitions!");
-        createBadgeCategory("💎 Milestone Master", getMilestoneBadges(), "Reach incredible point milestones!");
-        createBadgeCategory("🎲 Special Achiever", getSpecialBadges(), "Unique and rare accomplishments!");
+        createBadgeCategory("🏃 Speed Demon", BadgeSystem.Section.SPEED, "Complete dares quickly for massive bonuses!");
+        createBadgeCategory("🎯 Category Master", BadgeSystem.Section.CATEGORY, "Conquer every type of dare challenge!");
+        createBadgeCategory("🔥 Streak Legend", BadgeSystem.Section.STREAK, "Build unstoppable completion streaks!");
+        createBadgeCategory("💝 Power Couple", BadgeSystem.Section.PARTNERSHIP, "Perfect teamwork with your partner!");
+        createBadgeCategory("🏆 Competition King/Queen", BadgeSystem.Section.COMPETITION, "Dominate monthly competitions!");
+        createBadgeCategory("💎 Milestone Master", BadgeSystem.Section.MILESTONE, "Reach incredible point milestones!");
+        createBadgeCategory("🎲 Special Achiever", BadgeSystem.Section.SPECIAL, "Unique and rare accomplishments!");
     }
 
-    private void createBadgeCategory(String categoryName, List<String> badgeIds, String description) {
+    private void createBadgeCategory(String categoryName, BadgeSystem.Section section, String description) {
+        List<BadgeSystem.Badge> badges = BadgeSystem.badgesIn(section);
+
         LinearLayout categoryCard = new LinearLayout(this);
         categoryCard.setOrientation(LinearLayout.VERTICAL);
         categoryCard.setPadding(24, 20, 24, 20);
@@ -290,16 +277,16 @@ public class BadgesActivity extends AppCompatActivity {
 
         // Calculate progress with AWESOME visual feedback
         int unlockedCount = 0;
-        for (String badgeId : badgeIds) {
-            if (unlockedBadges.contains(badgeId)) {
+        for (BadgeSystem.Badge badge : badges) {
+            if (unlockedBadges.get(badge.ordinal)) {
                 unlockedCount++;
             }
         }
 
         // 🎉 ENHANCED Progress display
         TextView progressText = new TextView(this);
-        String progressStr = unlockedCount + " / " + badgeIds.size() + " earned";
-        if (unlockedCount == badgeIds.size()) {
+        String progressStr = unlockedCount + " / " + badges.size() + " earned";
+        if (unlockedCount == badges.size()) {
             progressStr += " 🎉 COMPLETED! 🎉";
             progressText.setTextColor(0xFFFFD700); // Gold for completion
         } else if (unlockedCount > 0) {
@@ -322,14 +309,14 @@ public class BadgesActivity extends AppCompatActivity {
         progressBarContainer.setGravity(Gravity.CENTER);
         progressBarContainer.setPadding(0, 0, 0, 16);
 
-        for (int i = 0; i < badgeIds.size(); i++) {
+        for (int i = 0; i < badges.size(); i++) {
             TextView progressBlock = new TextView(this);
             progressBlock.setText("●");
             progressBlock.setTextSize(20);
 
             if (i < unlockedCount) {
                 // Gradient effect for earned badges
-                if (unlockedCount == badgeIds.size()) {
+                if (unlockedCount == badges.size()) {
                     progressBlock.setTextColor(0xFFFFD700); // Gold when complete
                 } else {
                     progressBlock.setTextColor(0xFF4CAF50); // Green for earned
@@ -350,22 +337,16 @@ public class BadgesActivity extends AppCompatActivity {
         LinearLayout badgeGrid = new LinearLayout(this);
         badgeGrid.setOrientation(LinearLayout.VERTICAL);
 
-        for (String badgeId : badgeIds) {
-            createEnhancedBadgeRow(badgeGrid, badgeId);
+        for (BadgeSystem.Badge badge : badges) {
+            createEnhancedBadgeRow(badgeGrid, badge);
         }
 
         categoryCard.addView(badgeGrid);
         mainLayout.addView(categoryCard);
     }
 
-    private void createEnhancedBadgeRow(LinearLayout parent, String badgeId) {
-        BadgeSystem.Badge badge = BadgeSystem.BADGES.get(badgeId);
-        if (badge == null) {
-            Log.w("BadgesActivity", "Badge not found: " + badgeId);
-            return;
-        }
-
-        boolean isUnlocked = unlockedBadges.contains(badgeId);
+    private void createEnhancedBadgeRow(LinearLayout parent, BadgeSystem.Badge badge) {
+        boolean isUnlocked = unlockedBadges.get(badge.ordinal);
 
         LinearLayout badgeRow = new LinearLayout(this);
         badgeRow.setOrientation(LinearLayout.HORIZONTAL);
@@ -423,7 +404,12 @@ public class BadgesActivity extends AppCompatActivity {
         // 🎯 Show progress toward unlocking
         if (!isUnlocked) {
             TextView progressText = new TextView(this);
-            progressText.setText("🎯 Goal: " + badge.requirement + " " + getRequirementText(badge.type));
+            if (progress.isMeasured(badge)) {
+                progressText.setText("🎯 " + progress.getCurrent(badge) + " / " + progress.getRequired(badge)
+                        + " " + getRequirementText(badge.type));
+            } else {
+                progressText.setText("🎯 Goal: " + badge.requirement + " " + getRequirementText(badge.type));
+            }
             progressText.setTextColor(0xFFBB86FC);
             progressText.setTextSize(11);
             progressText.setTypeface(null, android.graphics.Typeface.BOLD);
@@ -511,82 +497,4 @@ public class BadgesActivity extends AppCompatActivity {
             default: return "completions";
         }
     }
-
-    // Keep all the existing badge category methods...
-    private List<String> getSpeedBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("lightning_lover");
-        badges.add("flash_forward");
-        badges.add("speed_racer");
-        badges.add("instant_gratification");
-        return badges;
-    }
-
-    private List<String> getCategoryBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("sweet_soul");
-        badges.add("playful_spirit");
-        badges.add("adventure_seeker");
-        badges.add("passionate_heart");
-        badges.add("wild_one");
-        badges.add("renaissance_lover");
-        return badges;
-    }
-
-    private List<String> getStreakBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("warm_up");
-        badges.add("getting_hot");
-        badges.add("on_fire");
-        badges.add("blazing");
-        badges.add("inferno");
-        return badges;
-    }
-
-    private List<String> getPartnershipBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("perfect_match");
-        badges.add("synchronized_souls");
-        badges.add("power_couple");
-        badges.add("dynamic_duo");
-        return badges;
-    }
-
-    private List<String> getCompetitionBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("monthly_champion");
-        badges.add("close_call");
-        badges.add("comeback_kid");
-        badges.add("dominator");
-        badges.add("competitive_spirit");
-        badges.add("hat_trick");
-        badges.add("rivalry_master");
-        badges.add("final_hour");
-        badges.add("early_bird_winner");
-        badges.add("photo_finish");
-        return badges;
-    }
-
-    private List<String> getMilestoneBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("first_steps");
-        badges.add("getting_started");
-        badges.add("point_collector");
-        badges.add("point_master");
-        badges.add("point_legend");
-        return badges;
-    }
-
-    private List<String> getSpecialBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("generous_giver");
-        badges.add("dare_devil");
-        badges.add("night_owl");
-        badges.add("early_bird");
-        badges.add("weekend_warrior");
-        badges.add("social_butterfly");
-        badges.add("code_breaker");
-        badges.add("second_chance");
-        return badges;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.DareUs.app;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A couple's past competition months, newest first, a page at a time for the leaderboard
+ * history card.
+ *
+ * Closed months never change, so they're kept in SharedPreferences for good. The first
+ * page only asks for months newer than the newest cached one, and "load more" only hits
+ * Firestore once the cached months run out. Months the close job hasn't reached yet are
+ * shown but never stored.
+ *
+ * One instance per history card - not shared between screens.
+ */
+public class CompetitionHistory {
+
+    public static final int PAGE_SIZE = 3;
+
+    private static final String TAG = "CompetitionHistory";
+    private static final String PREFS = "competition_history";
+
+    private final FirebaseFirestore db;
+    private final String coupleId;
+    private final String userId;
+    private final String userField;
+    private final String currentMonth;
+    private final SharedPreferences prefs;
+
+    // Newest first with no gaps - every couple doc between the first and last is in here
+    private final List<Month> months = new ArrayList<>();
+    private boolean complete;
+    private int shown;
+
+    public CompetitionHistory(Context context, String userId, String partnerId, String currentMonth) {
+        this.db = FirebaseFirestore.getInstance();
+        this.coupleId = CompetitionTimeline.coupleIdFor(userId, partnerId);
+        this.userId = userId;
+        this.userField = userId.compareTo(partnerId) < 0 ? "user1Id" : "user2Id";
+        this.currentMonth = currentMonth;
+        this.prefs = context.getApplicationContext().getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        restore();
+    }
+
+    /**
+     * Months closed since the last visit, on top of the cache. Usually one small query
+     * returning nothing or a single doc.
+     */
+    public Task<List<Month>> loadFirstPage() {
+        String newestCached;
+        synchronized (this) {
+            newestCached = months.isEmpty() ? null : months.get(0).month;
+        }
+
+        Query query = pastMonths().startAfter(currentMonth);
+        if (newestCached != null) query = query.endBefore(newestCached);
+
+        return BackgroundTasks.parse(query.limit(PAGE_SIZE).get(), snapshot -> {
+            List<Month> newer = toMonths(snapshot);
+            synchronized (this) {
+                if (newestCached == null) {
+                    complete = newer.size() < PAGE_SIZE;
+                } else if (newer.size() == PAGE_SIZE) {
+                    // Away long enough that there could be months between these and the cache
+                    Log.d(TAG, "Cache for " + coupleId + " too far behind - starting over");
+                    months.clear();
+                    complete = false;
+                }
+                months.addAll(0, newer);
+                persist();
+
+                shown = Math.min(PAGE_SIZE, months.size());
+                return new ArrayList<>(months.subList(0, shown));
+            }
+        });
+    }
+
+    /**
+     * The next page - straight from the cache while it lasts, then from Firestore with the
+     * oldest month seen so far as the cursor.
+     */
+    public Task<List<Month>> loadMore() {
+        String oldest;
+        synchronized (this) {
+            if (shown < months.size()) {
+                int end = Math.min(shown + PAGE_SIZE, months.size());
+                List<Month> page = new ArrayList<>(months.subList(shown, end));
+                shown = end;
+                return Tasks.forResult(page);
+            }
+            if (complete || months.isEmpty()) {
+                return Tasks.forResult(new ArrayList<>());
+            }
+            oldest = months.get(months.size() - 1).month;
+        }
+
+        return BackgroundTasks.parse(pastMonths().startAfter(oldest).limit(PAGE_SIZE).get(), snapshot -> {
+            List<Month> older = toMonths(snapshot);
+            synchronized (this) {
+                months.addAll(older);
+                complete = older.size() < PAGE_SIZE;
+                shown = months.size();
+                persist();
+                return older;
+            }
+        });
+    }
+
+    public synchronized boolean hasMore() {
+        return shown < months.size() || !complete;
+    }
+
+    // The user field is what the security rules check - without it the query is rejected
+    private Query pastMonths() {
+        return db.collection("monthlyCompetitions")
+                .whereEqualTo("coupleId", coupleId)
+                .whereEqualTo(userField, userId)
+                .orderBy("month", Query.Direction.DESCENDING);
+    }
+
+    private static List<Month> toMonths(QuerySnapshot snapshot) {
+        List<Month> months = new ArrayList<>();
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            String month = doc.getString("month");
+            if (month == null) continue;
+
+            // Closing freezes the totals into final*; until then only the running ones exist
+            boolean closed = Boolean.TRUE.equals(doc.getBoolean("closed"));
+            Long user1Points = doc.getLong(closed ? "finalUser1Points" : "currentUser1Points");
+            Long user2Points = doc.getLong(closed ? "finalUser2Points" : "currentUser2Points");
+            months.add(new Month(month,
+                    user1Points != null ? user1Points : 0,
+                    user2Points != null ? user2Points : 0,
+                    closed));
+        }
+        return months;
+    }
+
+    // Stored as "<complete>;<month>,<user1>,<user2>;..." newest first. Only the closed run
+    // at the old end is kept, so the cache never has a hole where an open month was
+    private void persist() {
+        int from = 0;
+        for (int i = 0; i < months.size(); i++) {
+            if (!months.get(i).closed) from = i + 1;
+        }
+
+        StringBuilder value = new StringBuilder(complete ? "1" : "0");
+        for (Month month : months.subList(from, months.size())) {
+            value.append(';').append(month.month)
+                    .append(',').append(month.user1Points)
+                    .append(',').append(month.user2Points);
+        }
+        prefs.edit().putString(coupleId, value.toString()).apply();
+    }
+
+    private void restore() {
+        String stored = prefs.getString(coupleId, null);
+        if (stored == null) return;
+
+        String[] parts = stored.split(";");
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                String[] fields = parts[i].split(",");
+                months.add(new Month(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), true));
+            }
+            complete = parts[0].equals("1");
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Ignoring corrupt cache", e);
+            months.clear();
+            complete = false;
+        }
+    }
+
+    public static class Month {
+        public final String month;
+        public final long user1Points;
+        public final long user2Points;
+        public final boolean closed;
+
+        Month(String month, long user1Points, long user2Points, boolean closed) {
+            this.month = month;
+            this.user1Points = user1Points;
+            this.user2Points = user2Points;
+            this.closed = closed;
+        }
+    }
+}
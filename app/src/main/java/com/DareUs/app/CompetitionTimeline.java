@@ -0,0 +1,223 @@
+package com.DareUs.app;
+
+import android.util.Log;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * One month of a couple's competition - the competition doc plus its dailySnapshots -
+ * seen from one user's side. Loaded once and summarised in a single pass so every
+ * competition badge reads from the same data.
+ *
+ * Cached per user + month. Closed months never change; the current month is reused
+ * until the day rolls over (snapshots are only written once a day).
+ */
+public class CompetitionTimeline {
+
+    private static final String TAG = "CompetitionTimeline";
+
+    private static final Map<String, CompetitionTimeline> cache = new HashMap<>();
+
+    private final String month;
+    private final boolean exists;
+    private final int myPoints;
+    private final int partnerPoints;
+    private final int days;
+    private final int leadChanges;
+    private final int maxDeficit;
+    private final boolean ledEveryDay;
+    private final boolean behindDayBeforeEnd;
+    private final String loadedOn;
+
+    private CompetitionTimeline(String month, boolean exists, int myPoints, int partnerPoints, int days,
+                                int leadChanges, int maxDeficit, boolean ledEveryDay,
+                                boolean behindDayBeforeEnd, String loadedOn) {
+        this.month = month;
+        this.exists = exists;
+        this.myPoints = myPoints;
+        this.partnerPoints = partnerPoints;
+        this.days = days;
+        this.leadChanges = leadChanges;
+        this.maxDeficit = maxDeficit;
+        this.ledEveryDay = ledEveryDay;
+        this.behindDayBeforeEnd = behindDayBeforeEnd;
+        this.loadedOn = loadedOn;
+    }
+
+    public static String coupleIdFor(String userId, String partnerId) {
+        // Sorted so both partners get the same ID
+        return userId.compareTo(partnerId) < 0 ? userId + "_" + partnerId : partnerId + "_" + userId;
+    }
+
+    // Competition months follow New York time, like the server jobs that file points into
+    // them - otherwise the 1st would start a month early (or late) away from the US east coast
+    public static String currentMonth() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        return format.format(new Date());
+    }
+
+    /**
+     * Load (or reuse) the timeline for a month ("yyyy-MM"). The competition doc and its
+     * snapshots are fetched in parallel since the doc ID is known up front.
+     */
+    public static Task<CompetitionTimeline> load(FirebaseFirestore db, String userId, String partnerId, String month) {
+        String cacheKey = userId + "/" + month;
+        String today = today();
+
+        synchronized (cache) {
+            CompetitionTimeline cached = cache.get(cacheKey);
+            if (cached != null && (month.compareTo(currentMonth()) < 0 || cached.loadedOn.equals(today))) {
+                return Tasks.forResult(cached);
+            }
+        }
+
+        DocumentReference competitionRef = db.collection("monthlyCompetitions")
+                .document(coupleIdFor(userId, partnerId) + "_" + month);
+
+        Task<DocumentSnapshot> competitionTask = competitionRef.get();
+        Task<QuerySnapshot> snapshotsTask = competitionRef.collection("dailySnapshots")
+                .orderBy("timestamp", Query.Direction.ASCENDING)
+                .get();
+
+        // Summarise off the main thread
+        return Tasks.whenAllComplete(competitionTask, snapshotsTask)
+                .continueWith(BackgroundTasks.background(), all -> {
+                    if (!competitionTask.isSuccessful()) {
+                        throw competitionTask.getException();
+                    }
+                    // No snapshots isn't the same as a month nobody led - fail rather than
+                    // summarise (and cache) an empty timeline
+                    if (!snapshotsTask.isSuccessful()) {
+                        Log.e(TAG, "Error loading daily snapshots", snapshotsTask.getException());
+                        throw snapshotsTask.getException();
+                    }
+
+                    List<DocumentSnapshot> days = snapshotsTask.getResult().getDocuments();
+                    CompetitionTimeline timeline = build(month, competitionTask.getResult(), days, userId, today);
+                    synchronized (cache) {
+                        cache.put(cacheKey, timeline);
+                    }
+                    return timeline;
+                });
+    }
+
+    private static CompetitionTimeline build(String month, DocumentSnapshot competition,
+                                             List<DocumentSnapshot> snapshots, String userId, String today) {
+        if (!competition.exists()) {
+            return new CompetitionTimeline(month, false, 0, 0, 0, 0, 0, false, false, today);
+        }
+
+        boolean iAmUser1 = userId.equals(competition.getString("user1Id"));
+
+        int leadChanges = 0;
+        int maxDeficit = 0;
+        boolean ledEveryDay = true;
+        int lastLeader = 0;      // 1 = me, -1 = partner, 0 = nobody yet / tied
+        int previousMargin = 0;  // my margin the day before the current one
+        int lastMargin = 0;
+        int trackedDays = 0;
+
+        // Single pass over the days, oldest first
+        for (DocumentSnapshot day : snapshots) {
+            Long user1Points = day.getLong("user1Points");
+            Long user2Points = day.getLong("user2Points");
+            if (user1Points == null || user2Points == null) continue;
+
+            int mine = (iAmUser1 ? user1Points : user2Points).intValue();
+            int theirs = (iAmUser1 ? user2Points : user1Points).intValue();
+            int margin = mine - theirs;
+
+            maxDeficit = Math.max(maxDeficit, -margin);
+            // Days where either side hasn't scored yet don't count against leading
+            if (mine > 0 && theirs > 0 && margin < 0) {
+                ledEveryDay = false;
+            }
+
+            int leader = Integer.signum(margin);
+            if (leader != 0) {
+                if (lastLeader != 0 && leader != lastLeader) leadChanges++;
+                lastLeader = leader;
+            }
+
+            previousMargin = lastMargin;
+            lastMargin = margin;
+            trackedDays++;
+        }
+
+        Long final1 = competition.getLong("currentUser1Points");
+        Long final2 = competition.getLong("currentUser2Points");
+        int myPoints = (iAmUser1 ? final1 : final2) != null ? (iAmUser1 ? final1 : final2).intValue() : 0;
+        int partnerPoints = (iAmUser1 ? final2 : final1) != null ? (iAmUser1 ? final2 : final1).intValue() : 0;
+
+        // Second-to-last snapshot = 24 hours before month end
+        boolean behindDayBeforeEnd = trackedDays >= 2 && previousMargin < 0;
+
+        return new CompetitionTimeline(month, true, myPoints, partnerPoints, trackedDays,
+                leadChanges, maxDeficit, ledEveryDay, behindDayBeforeEnd, today);
+    }
+
+    /**
+     * Copy the month-shape facts onto a snapshot for the competition rules.
+     */
+    public void applyTo(BadgeSnapshot snapshot) {
+        snapshot.set(BadgeRuleEngine.MAX_DEFICIT, maxDeficit);
+        snapshot.set(BadgeRuleEngine.TOOK_LEAD_LAST_DAY, behindDayBeforeEnd);
+        // Led entire month (at least 3 days tracked)
+        snapshot.set(BadgeRuleEngine.LED_ENTIRE_MONTH, ledEveryDay && days >= 3);
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+
+    public int getMyPoints() {
+        return myPoints;
+    }
+
+    public int getPartnerPoints() {
+        return partnerPoints;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getLeadChanges() {
+        return leadChanges;
+    }
+
+    // Biggest gap I was behind by on any day
+    public int getMaxDeficit() {
+        return maxDeficit;
+    }
+
+    public boolean ledEveryDay() {
+        return ledEveryDay && days >= 3;
+    }
+
+    public boolean wasBehindDayBeforeEnd() {
+        return behindDayBeforeEnd;
+    }
+
+    private static String today() {
+        return new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(Calendar.getInstance().getTime());
+    }
+}
@@ -341,69 +341,16 @@ public class CustomDareActivity extends AppCompatActivity {
         customDareData.put("encrypted", true);
         customDareData.put("negotiationCount", 0);
 
-        db.collection("dares")
-                .add(customDareData)
-                .addOnSuccessListener(documentReference -> {
-                    Log.d("CustomDare", "Dare created successfully, about to send notification");
-                    
-                    // Send notification to partner
-                    sendCustomDareNotification("💌 New Custom Dare!", 
-                            "You have a new custom dare to review from your partner!");
-                    
-                    showCustomToast("🎉 Custom dare sent for negotiation!\n" +
-                            partnerName + " will review and respond! 🤝");
-                    finish();
-                })
-                .addOnFailureListener(e -> {
-                    if (buttonSendCustomDare != null) {
-                        buttonSendCustomDare.setText("🚀 Send for Negotiation");
-                        buttonSendCustomDare.setEnabled(true);
-                    }
-                    showCustomToast("Failed to send custom dare - please try again! 😅");
-                });
-    }
-    
-    private void sendCustomDareNotification(String title, String message) {
-        if (currentUser == null || currentPartnerId == null) {
-            Log.e("CustomDare", "Cannot send notification - missing user or partner ID");
-            return;
-        }
-
-        Log.d("CustomDare", "Sending notification to partner: " + currentPartnerId);
-
-        // Get partner's FCM token and send notification
-        db.collection("dareus").document(currentPartnerId)
-                .get()
-                .addOnSuccessListener(doc -> {
-                    if (doc.exists()) {
-                        String partnerToken = doc.getString("fcmToken");
-                        Log.d("CustomDare", "Partner token: " + (partnerToken != null ? "found" : "null"));
-                        
-                        if (partnerToken != null) {
-                            Map<String, Object> notif = new HashMap<>();
-                            notif.put("toToken", partnerToken);
-                            notif.put("title", title);
-                            notif.put("body", message);
-                            notif.put("timestamp", System.currentTimeMillis());
-                            notif.put("sent", false);
-
-                            db.collection("notifications").add(notif)
-                                    .addOnSuccessListener(docRef -> {
-                                        Log.d("CustomDare", "Notification added to Firestore: " + docRef.getId());
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.e("CustomDare", "Failed to add notification", e);
-                                    });
-                        } else {
-                            Log.e("CustomDare", "Partner FCM token is null");
-                        }
-                    } else {
-                        Log.e("CustomDare", "Partner document doesn't exist");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("CustomDare", "Failed to get partner document", e);
-                });
+        // Queued - goes out with the rest of the user's dare writes, retried until it lands.
+        // The partner is notified once it has
+        DareActionQueue.get(this, currentUser.getUid()).send(customDareData,
+                new PartnerNotice(currentPartnerId, "💌 New Custom Dare!",
+                        "You have a new custom dare to review from your partner!"));
+        Log.d("CustomDare", "Dare queued");
+
+        showCustomToast("🎉 Custom dare sent for negotiation!\n" +
+                partnerName + " will review and respond! 🤝");
+        finish();
     }
     
     private boolean containsInappropriateContent(String text) {
@@ -17,8 +17,11 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CustomDareNegotiationActivity extends AppCompatActivity {
@@ -29,6 +32,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
     private LinearLayout contentLayout;
     private ScrollView scrollView;
     private String partnerId, partnerName;
+    private DareActionQueue actionQueue;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -44,6 +48,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
             return;
         }
 
+        actionQueue = DareActionQueue.get(this, currentUser.getUid());
         setupNegotiationUI();
         loadPartnerInfo();
     }
@@ -140,8 +145,10 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
                             .get()
                             .addOnSuccessListener(outgoingSnapshot -> {
 
-                                boolean hasIncoming = !incomingSnapshot.isEmpty();
-                                boolean hasOutgoing = !outgoingSnapshot.isEmpty();
+                                List<Dare> incoming = decodeNegotiations(incomingSnapshot);
+                                List<Dare> outgoing = decodeNegotiations(outgoingSnapshot);
+                                boolean hasIncoming = !incoming.isEmpty();
+                                boolean hasOutgoing = !outgoing.isEmpty();
 
                                 if (!hasIncoming && !hasOutgoing) {
                                     showNoNegotiationsMessage();
@@ -150,27 +157,40 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
 
                                 // Show incoming negotiations (I need to respond)
                                 if (hasIncoming) {
-                                    createSectionHeader("📥 Dares for You to Review (" + incomingSnapshot.size() + ")",
+                                    createSectionHeader("📥 Dares for You to Review (" + incoming.size() + ")",
                                             "These custom dares need your approval!");
 
-                                    for (QueryDocumentSnapshot doc : incomingSnapshot) {
-                                        createIncomingNegotiationCard(doc);
+                                    for (Dare dare : incoming) {
+                                        createIncomingNegotiationCard(dare);
                                     }
                                 }
 
                                 // Show outgoing negotiations (waiting for partner)
                                 if (hasOutgoing) {
-                                    createSectionHeader("⏳ Waiting for " + partnerName + " (" + outgoingSnapshot.size() + ")",
+                                    createSectionHeader("⏳ Waiting for " + partnerName + " (" + outgoing.size() + ")",
                                             "Custom dares you sent that are being reviewed");
 
-                                    for (QueryDocumentSnapshot doc : outgoingSnapshot) {
-                                        createOutgoingNegotiationCard(doc);
+                                    for (Dare dare : outgoing) {
+                                        createOutgoingNegotiationCard(dare);
                                     }
                                 }
                             });
                 });
     }
 
+    // Newest first, by the sort key the shared Dare model works out when it decodes. A dare
+    // with a counter-offer still queued is left out until the server has it
+    private List<Dare> decodeNegotiations(QuerySnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        List<Dare> dares = new ArrayList<>();
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            if (actionQueue.supersedes(doc)) continue;
+            dares.add(Dare.from(doc, now));
+        }
+        dares.sort((a, b) -> Long.compare(a.sortKey, b.sortKey));
+        return dares;
+    }
+
     private void createSectionHeader(String title, String subtitle) {
         LinearLayout headerCard = new LinearLayout(this);
         headerCard.setOrientation(LinearLayout.VERTICAL);
@@ -203,11 +223,11 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
         contentLayout.addView(headerCard);
     }
 
-    private void createIncomingNegotiationCard(QueryDocumentSnapshot document) {
-        String dareText = document.getString("dareText");
-        Long proposedPoints = document.getLong("proposedPoints");
-        String dareId = document.getId();
-        Long negotiationCount = document.getLong("negotiationCount");
+    private void createIncomingNegotiationCard(Dare dare) {
+        String dareText = dare.dareText;
+        int proposedPoints = dare.proposedPoints;
+        String dareId = dare.id;
+        int negotiationCount = dare.negotiationCount;
 
         LinearLayout card = new LinearLayout(this);
         card.setOrientation(LinearLayout.VERTICAL);
@@ -223,7 +243,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
 
         TextView headerText = new TextView(this);
         String headerMsg = "💌 New Custom Dare from " + partnerName;
-        if (negotiationCount != null && negotiationCount > 0) {
+        if (negotiationCount > 0) {
             headerMsg += " (Round " + (negotiationCount + 1) + ")";
         }
         headerText.setText(headerMsg);
@@ -244,7 +264,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
         // Points info
         TextView pointsText = new TextView(this);
         String pointsMsg = "💎 Current Offer: " + proposedPoints + " points";
-        if (negotiationCount != null && negotiationCount > 0) {
+        if (negotiationCount > 0) {
             pointsMsg += "\n🔄 Counter-offer from " + partnerName;
         }
         pointsText.setText(pointsMsg);
@@ -288,8 +308,8 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
         haggleButton.setLayoutParams(buttonParams);
         rejectButton.setLayoutParams(buttonParams);
 
-        acceptButton.setOnClickListener(v -> acceptCustomDare(dareId, proposedPoints.intValue()));
-        haggleButton.setOnClickListener(v -> showHaggleDialog(dareId, proposedPoints.intValue()));
+        acceptButton.setOnClickListener(v -> acceptCustomDare(dareId, proposedPoints));
+        haggleButton.setOnClickListener(v -> showHaggleDialog(dare, proposedPoints));
         rejectButton.setOnClickListener(v -> rejectCustomDare(dareId));
 
         buttonsLayout.addView(acceptButton);
@@ -304,11 +324,10 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
         contentLayout.addView(card);
     }
 
-    private void createOutgoingNegotiationCard(QueryDocumentSnapshot document) {
-        String dareText = document.getString("dareText");
-        Long proposedPoints = document.getLong("proposedPoints");
-        String dareId = document.getId();
-        Long negotiationCount = document.getLong("negotiationCount");
+    private void createOutgoingNegotiationCard(Dare dare) {
+        String dareText = dare.dareText;
+        int proposedPoints = dare.proposedPoints;
+        int negotiationCount = dare.negotiationCount;
 
         LinearLayout card = new LinearLayout(this);
         card.setOrientation(LinearLayout.VERTICAL);
@@ -324,7 +343,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
 
         TextView headerText = new TextView(this);
         String headerMsg = "⏳ Awaiting " + partnerName + "'s Response";
-        if (negotiationCount != null && negotiationCount > 0) {
+        if (negotiationCount > 0) {
             headerMsg += " (Round " + (negotiationCount + 1) + ")";
         }
         headerText.setText(headerMsg);
@@ -409,6 +428,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
                         updates.put("negotiatedPoints", points);
                         updates.put("expiresAt", System.currentTimeMillis() + (7 * 24 * 60 * 60 * 1000L));
                         updates.put("acceptedAt", System.currentTimeMillis());
+                        updates.put("updatedAt", FieldValue.serverTimestamp());
 
                         updates.put("fromUserId", originalCreatorUserId);
                         updates.put("toUserId", originalTargetUserId);
@@ -426,7 +446,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
                 });
     }
 
-    private void showHaggleDialog(String dareId, int currentPoints) {
+    private void showHaggleDialog(Dare dare, int currentPoints) {
         EditText pointsInput = new EditText(this);
         pointsInput.setHint("Enter your counter-offer");
         pointsInput.setInputType(android.text.InputType.TYPE_CLASS_NUMBER);
@@ -451,7 +471,7 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
                                 if (newPoints == currentPoints) {
                                     showStyledToast("That's the same amount! Try a different value 😄");
                                 } else {
-                                    sendCounterOffer(dareId, newPoints);
+                                    sendCounterOffer(dare, newPoints);
                                 }
                             } else {
                                 showStyledToast("Points must be between 1 and 100! 📏");
@@ -467,37 +487,13 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
         dialog.show();
     }
 
-    private void sendCounterOffer(String dareId, int newPoints) {
-        db.collection("dares").document(dareId)
-                .get()
-                .addOnSuccessListener(document -> {
-                    if (document.exists()) {
-                        String originalFromUserId = document.getString("fromUserId");
-                        String originalToUserId = document.getString("toUserId");
-
-                        Map<String, Object> updates = new HashMap<>();
-                        updates.put("proposedPoints", newPoints);
-                        updates.put("negotiatedPoints", newPoints);
-                        updates.put("lastNegotiatedBy", currentUser.getUid());
-                        updates.put("negotiationCount", FieldValue.increment(1));
-                        updates.put("lastCounterOfferAt", System.currentTimeMillis());
-
-                        updates.put("fromUserId", originalToUserId);
-                        updates.put("toUserId", originalFromUserId);
-
-                        db.collection("dares").document(dareId)
-                                .update(updates)
-                                .addOnSuccessListener(aVoid -> {
-                                    showStyledToast("💰 Counter-offer sent! " + partnerName + " will see your new request!");
-                                    sendCustomDareNotification("💰 Custom Dare Counter-Offer!",
-                                            "Your partner wants " + newPoints + " points for your custom dare!");
-                                    recreate();
-                                })
-                                .addOnFailureListener(e -> {
-                                    showStyledToast("Error sending counter-offer - try again! 😅");
-                                });
-                    }
-                });
+    // Queued - it goes out when there's a connection, and only if the offer is still ours to answer.
+    // The partner hears about it once it has
+    private void sendCounterOffer(Dare dare, int newPoints) {
+        actionQueue.counterOffer(dare, newPoints, new PartnerNotice(partnerId, "💰 Custom Dare Counter-Offer!",
+                "Your partner wants " + newPoints + " points for your custom dare!"));
+        showStyledToast("💰 Counter-offer sent! " + partnerName + " will see your new request!");
+        recreate();
     }
 
     private void rejectCustomDare(String dareId) {
@@ -505,20 +501,12 @@ public class CustomDareNegotiationActivity extends AppCompatActivity {
                 .setTitle("❌ Reject Custom Dare?")
                 .setMessage("Are you sure you want to reject this custom dare?\n\nThis action cannot be undone.")
                 .setPositiveButton("Yes, Reject", (dialogInterface, which) -> {
-                    Map<String, Object> updates = new HashMap<>();
-                    updates.put("status", "rejected");
-                    updates.put("rejectedAt", System.currentTimeMillis());
-                    updates.put("rejectedBy", currentUser.getUid());
-
-                    db.collection("dares").document(dareId)
-                            .update(updates)
-                            .addOnSuccessListener(aVoid -> {
-                                showStyledToast("❌ Custom dare rejected!");
-                                sendCustomDareNotification("❌ Custom Dare Rejected",
-                                        "Your partner rejected your custom dare");
-                                recreate();
-                            })
-                            .addOnFailureListener(e -> showStyledToast("Error rejecting dare - try again! 😅"));
+                    // Queued like the counter-offer - the card stays hidden until the server has it
+                    actionQueue.rejectOffer(dareId, System.currentTimeMillis(),
+                            new PartnerNotice(partnerId, "❌ Custom Dare Rejected",
+                                    "Your partner rejected your custom dare"));
+                    showStyledToast("❌ Custom dare rejected!");
+                    recreate();
                 })
                 .setNegativeButton("Cancel", null)
                 .create();
@@ -0,0 +1,180 @@
+package com.DareUs.app;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import java.util.Objects;
+
+/**
+ * One dare document, decoded once. Times are plain millis (0 when the doc doesn't have
+ * them), the status is an enum, and which list the dare belongs in - plus where in that
+ * list - is worked out at decode time, so sorting and binding never go back to the
+ * snapshot.
+ *
+ * Shared by every screen that lists dares: the inbox, PartnerDaresActivity and the
+ * custom dare negotiations.
+ */
+public final class Dare {
+
+    public enum Status {
+        PENDING, PENDING_NEGOTIATION, COMPLETED, REJECTED, UNKNOWN;
+
+        static Status of(String value) {
+            if ("pending".equals(value)) return PENDING;
+            if ("pending_negotiation".equals(value)) return PENDING_NEGOTIATION;
+            if ("completed".equals(value)) return COMPLETED;
+            if ("rejected".equals(value)) return REJECTED;
+            return UNKNOWN;
+        }
+    }
+
+    // Which list a dare shows up in - MISSED is rejected or expired before it was done
+    public enum Section {
+        ACTIVE, COMPLETED, MISSED, NEGOTIATING, NONE
+    }
+
+    public final String id;
+    public final String fromUserId;
+    public final String toUserId;
+    public final String dareText;
+    public final String category;
+    public final Status status;
+    public final boolean custom;
+    public final int points;
+    public final int earnedPoints;
+    public final int proposedPoints;
+    public final int negotiationCount;
+    public final long sentAt;
+    public final long expiresAt;
+    public final long completedAt;
+    public final long rejectedAt;
+
+    public final Section section;
+    // Ascending order within the section: soonest expiry first for active dares, newest
+    // first (negated time) for everything else
+    public final long sortKey;
+
+    // Package-private so tests can build dares without a snapshot
+    Dare(String id, String fromUserId, String toUserId, String dareText, String category,
+                 Status status, boolean custom, int points, int earnedPoints, int proposedPoints,
+                 int negotiationCount, long sentAt, long expiresAt, long completedAt, long rejectedAt,
+                 long now) {
+        this.id = id;
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+        this.dareText = dareText;
+        this.category = category;
+        this.status = status;
+        this.custom = custom;
+        this.points = points;
+        this.earnedPoints = earnedPoints;
+        this.proposedPoints = proposedPoints;
+        this.negotiationCount = negotiationCount;
+        this.sentAt = sentAt;
+        this.expiresAt = expiresAt;
+        this.completedAt = completedAt;
+        this.rejectedAt = rejectedAt;
+        this.section = sectionOf(status, expiresAt, now);
+        this.sortKey = sortKeyOf(section);
+    }
+
+    /**
+     * Decodes a dare. "Expired" is judged against now - callers paging through a list
+     * pass the same now for every page so a dare can't change lists between pages.
+     */
+    public static Dare from(DocumentSnapshot doc, long now) {
+        String dareText = doc.getString("dareText");
+        String category = doc.getString("category");
+        Long points = doc.getLong("points");
+        Long proposedPoints = doc.getLong("proposedPoints");
+        int basePoints = points != null ? points.intValue() : 5;
+
+        return new Dare(doc.getId(),
+                doc.getString("fromUserId"),
+                doc.getString("toUserId"),
+                dareText != null ? dareText : "Mystery dare",
+                category != null ? category : "Unknown",
+                Status.of(doc.getString("status")),
+                Boolean.TRUE.equals(doc.getBoolean("isCustom")),
+                basePoints,
+                (int) asLong(doc.get("earnedPoints")),
+                proposedPoints != null ? proposedPoints.intValue() : basePoints,
+                (int) asLong(doc.get("negotiationCount")),
+                asLong(doc.get("sentAt")),
+                asLong(doc.get("expiresAt")),
+                asLong(doc.get("completedAt")),
+                asLong(doc.get("rejectedAt")),
+                now);
+    }
+
+    // What the doc will say once this user's completion is written
+    public Dare completed(long at, int earned) {
+        return new Dare(id, fromUserId, toUserId, dareText, category, Status.COMPLETED, custom, points,
+                earned, proposedPoints, negotiationCount, sentAt, expiresAt, at, rejectedAt, at);
+    }
+
+    public Dare rejected(long at) {
+        return new Dare(id, fromUserId, toUserId, dareText, category, Status.REJECTED, custom, points,
+                earnedPoints, proposedPoints, negotiationCount, sentAt, expiresAt, completedAt, at, at);
+    }
+
+    private static Section sectionOf(Status status, long expiresAt, long now) {
+        switch (status) {
+            case PENDING:
+                return expiresAt != 0 && expiresAt <= now ? Section.MISSED : Section.ACTIVE;
+            case PENDING_NEGOTIATION:
+                return Section.NEGOTIATING;
+            case COMPLETED:
+                return Section.COMPLETED;
+            case REJECTED:
+                return Section.MISSED;
+            default:
+                return Section.NONE;
+        }
+    }
+
+    private long sortKeyOf(Section section) {
+        switch (section) {
+            case ACTIVE:
+                return expiresAt;
+            case COMPLETED:
+                return -(completedAt != 0 ? completedAt : sentAt);
+            case MISSED:
+                if (rejectedAt != 0) return -rejectedAt;
+                return -(expiresAt != 0 ? expiresAt : sentAt);
+            default:
+                return -sentAt;
+        }
+    }
+
+    // Straight off the raw value so no Long gets boxed on the way - missing counts as 0
+    private static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dare)) return false;
+        Dare other = (Dare) o;
+        return custom == other.custom
+                && points == other.points
+                && earnedPoints == other.earnedPoints
+                && proposedPoints == other.proposedPoints
+                && negotiationCount == other.negotiationCount
+                && sentAt == other.sentAt
+                && expiresAt == other.expiresAt
+                && completedAt == other.completedAt
+                && rejectedAt == other.rejectedAt
+                && status == other.status
+                && section == other.section
+                && id.equals(other.id)
+                && Objects.equals(fromUserId, other.fromUserId)
+                && Objects.equals(toUserId, other.toUserId)
+                && dareText.equals(other.dareText)
+                && category.equals(other.category);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -0,0 +1,623 @@
+package com.DareUs.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The user's own dare writes - complete, reject, counter-offer, send - as a durable queue
+ * in front of Firestore. An action is saved in the ledger's database and applied to the
+ * ledger straight away; screens update their own views without waiting on the network.
+ * The queue then flushes in order on the background pool.
+ *
+ * Each flush is one transaction that only writes if the dare is still how the action
+ * found it (still pending, same negotiation round, not created yet). A retry after a lost
+ * response, or an action the partner got in ahead of, is a no-op rather than a second
+ * write. Network failures back off and retry - across restarts too, the rows stay until
+ * they're done. Anything the rules refuse is dropped: the ledger goes back to the server's
+ * copy, open screens hear about it through RollbackListener, and the user gets a toast.
+ *
+ * What follows from an action - badge checks, the push to the partner - waits until its
+ * write is on the server, so a refused or still-offline action never counts for badges or
+ * pings the partner about something they can't see. It's kept in the payload, so it still
+ * happens if the app was closed in between. Unlocks found then go to BadgeTracker listeners
+ * registered here by whichever screens are open.
+ *
+ * Until an action lands, supersedes() tells listeners to ignore the server's older copy
+ * of that dare. Once it lands the server's copy wins, including the earnedPoints that
+ * onDareCompleted works out in place of the estimate shown at completion.
+ *
+ * One per user for the life of the process, like DareLedger.
+ */
+public class DareActionQueue {
+
+    private static final String TAG = "DareActionQueue";
+
+    private static final String COMPLETE = "complete";
+    private static final String REJECT = "reject";
+    private static final String REJECT_OFFER = "reject_offer";
+    private static final String COUNTER = "counter";
+    private static final String SEND = "send";
+
+    private static final long FIRST_RETRY_MS = 2000L;
+    private static final long MAX_RETRY_MS = 5 * 60 * 1000L;
+    private static final long FLUSH_TIMEOUT_S = 30;
+
+    private static final Map<String, DareActionQueue> instances = new HashMap<>();
+
+    /**
+     * A queued write the server refused. current is the dare as the server has it, or null
+     * if it doesn't exist (a refused send) or couldn't be read. Called on the background pool.
+     */
+    public interface RollbackListener {
+        void onRolledBack(String dareId, DocumentSnapshot current);
+    }
+
+    private final Context appContext;
+    private final String userId;
+    private final DareLedger ledger;
+    private final FirebaseFirestore db;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final List<RollbackListener> rollbackListeners = new CopyOnWriteArrayList<>();
+    private final List<BadgeTracker.BadgeUnlockListener> badgeListeners = new CopyOnWriteArrayList<>();
+    private final BadgeTracker badgeTracker;
+
+    // Latest unflushed action per dare - guarded by this
+    private final Map<String, Action> waiting = new HashMap<>();
+    private boolean flushing;
+    private boolean flushAgain;
+
+    public static synchronized DareActionQueue get(Context context, String userId) {
+        DareActionQueue queue = instances.get(userId);
+        if (queue == null) {
+            queue = new DareActionQueue(context.getApplicationContext(), DareLedger.get(context, userId), userId);
+            instances.put(userId, queue);
+            queue.start();
+        }
+        return queue;
+    }
+
+    // For callers without a Context - null until someone has started the queue
+    public static synchronized DareActionQueue running(String userId) {
+        return instances.get(userId);
+    }
+
+    private DareActionQueue(Context appContext, DareLedger ledger, String userId) {
+        this.appContext = appContext;
+        this.ledger = ledger;
+        this.userId = userId;
+        this.db = FirebaseFirestore.getInstance();
+        this.badgeTracker = new BadgeTracker(appContext, userId, (badgeId, badge) -> {
+            for (BadgeTracker.BadgeUnlockListener listener : badgeListeners) {
+                listener.onBadgeUnlocked(badgeId, badge);
+            }
+        });
+    }
+
+    // Category and sentAt come along for the badge check once it's written
+    public void complete(Dare dare, long completedAt, int earnedPoints) {
+        JSONObject payload = payload("completedAt", completedAt, "earnedPoints", earnedPoints,
+                "category", dare.category, "sentAt", dare.sentAt);
+        ContentValues local = new ContentValues();
+        local.put("status", "completed");
+        local.put("completedAt", completedAt);
+        local.put("earnedPoints", earnedPoints);
+        enqueue(COMPLETE, dare.id, payload, local);
+    }
+
+    public void reject(String dareId, long rejectedAt) {
+        ContentValues local = new ContentValues();
+        local.put("status", "rejected");
+        local.put("rejectedAt", rejectedAt);
+        enqueue(REJECT, dareId, payload("rejectedAt", rejectedAt), local);
+    }
+
+    // Turns down a custom dare that's still being negotiated - only while it's this user's turn
+    public void rejectOffer(String dareId, long rejectedAt, PartnerNotice notice) {
+        ContentValues local = new ContentValues();
+        local.put("status", "rejected");
+        local.put("rejectedAt", rejectedAt);
+        enqueue(REJECT_OFFER, dareId, withNotice(payload("rejectedAt", rejectedAt), notice), local);
+    }
+
+    // Hands a custom dare back to whoever proposed it - only counts against the round it was made in
+    public void counterOffer(Dare dare, int newPoints, PartnerNotice notice) {
+        JSONObject payload = withNotice(payload("round", dare.negotiationCount, "points", newPoints,
+                "at", System.currentTimeMillis()), notice);
+        ContentValues local = new ContentValues();
+        local.put("fromUserId", userId);
+        local.put("toUserId", dare.fromUserId);
+        enqueue(COUNTER, dare.id, payload, local);
+    }
+
+    /**
+     * Queues a new dare and returns the id it will have. The id is made here, so a retry
+     * writes the same document instead of a second dare. Plain values only (strings,
+     * numbers, booleans, null) - updatedAt is added at flush time.
+     */
+    public String send(Map<String, Object> dare, PartnerNotice notice) {
+        String dareId = db.collection("dares").document().getId();
+        ContentValues local = new ContentValues();
+        local.put("fromUserId", (String) dare.get("fromUserId"));
+        local.put("toUserId", (String) dare.get("toUserId"));
+        local.put("category", (String) dare.get("category"));
+        local.put("status", (String) dare.get("status"));
+        local.put("points", asLong(dare.get("points")));
+        local.put("sentAt", asLong(dare.get("sentAt")));
+        local.put("expiresAt", asLong(dare.get("expiresAt")));
+        enqueue(SEND, dareId, withNotice(payload("fields", typed(dare)), notice), local);
+        return dareId;
+    }
+
+    /**
+     * True while this user has a write queued for the dare that the doc doesn't show yet -
+     * the listener should keep what's on screen rather than roll it back.
+     */
+    public synchronized boolean supersedes(DocumentSnapshot doc) {
+        Action action = waiting.get(doc.getId());
+        return action != null && action.appliesTo(doc);
+    }
+
+    public void addRollbackListener(RollbackListener listener) {
+        rollbackListeners.add(listener);
+    }
+
+    public void removeRollbackListener(RollbackListener listener) {
+        rollbackListeners.remove(listener);
+    }
+
+    // Celebrations for badges a confirmed action unlocked - from a screen's onStart / onStop
+    public void addBadgeUnlockListener(BadgeTracker.BadgeUnlockListener listener) {
+        badgeListeners.add(listener);
+    }
+
+    public void removeBadgeUnlockListener(BadgeTracker.BadgeUnlockListener listener) {
+        badgeListeners.remove(listener);
+    }
+
+    private void start() {
+        BackgroundTasks.background().execute(() -> {
+            try (Cursor cursor = ledger.getReadableDatabase().rawQuery(
+                    "SELECT id, kind, dareId, payload, attempts, nextAttemptAt FROM pending_actions ORDER BY id",
+                    null)) {
+                synchronized (this) {
+                    while (cursor.moveToNext()) {
+                        Action action = actionAt(cursor);
+                        if (action == null) continue;
+                        // Anything enqueued since the queue started is newer than what's on disk
+                        Action current = waiting.get(action.dareId);
+                        if (current == null || (current.id != 0 && current.id < action.id)) {
+                            waiting.put(action.dareId, action);
+                        }
+                    }
+                    if (cursor.getCount() > 0) {
+                        Log.d(TAG, "📤 " + cursor.getCount() + " dare actions left from last time");
+                    }
+                }
+            }
+            flush();
+        });
+    }
+
+    private void enqueue(String kind, String dareId, JSONObject payload, ContentValues local) {
+        Action action = new Action(0, kind, dareId, payload, 0, 0);
+        synchronized (this) {
+            waiting.put(dareId, action);
+        }
+        BackgroundTasks.background().execute(() -> {
+            ContentValues row = new ContentValues();
+            row.put("kind", kind);
+            row.put("dareId", dareId);
+            row.put("payload", payload.toString());
+            long id = ledger.getWritableDatabase().insert("pending_actions", null, row);
+            synchronized (this) {
+                action.id = id;
+            }
+            ledger.applyLocal(dareId, local);
+            flush();
+        });
+    }
+
+    // Single flight - a flush asked for while one is running makes that one go round again
+    private void flush() {
+        synchronized (this) {
+            if (flushing) {
+                flushAgain = true;
+                return;
+            }
+            flushing = true;
+        }
+        BackgroundTasks.background().execute(this::drain);
+    }
+
+    // Runs on the background pool. Strictly in order - a send has to land before anything
+    // queued after it for the same dare
+    private void drain() {
+        long retryAt = 0;
+        try {
+            Action action;
+            while ((action = head()) != null) {
+                if (action.nextAttemptAt > System.currentTimeMillis()) {
+                    retryAt = action.nextAttemptAt;
+                    break;
+                }
+                try {
+                    boolean landed = write(action);
+                    finish(action);
+                    // After the row is gone - a crash in between skips these rather than
+                    // counting the same completion twice on the next start
+                    if (landed) confirmed(action);
+                } catch (Exception e) {
+                    if (!isTransient(e)) {
+                        Log.e(TAG, "Dropping " + action.kind + " for dare " + action.dareId, e);
+                        // Out of waiting first, so the server's copy isn't skipped as superseded
+                        finish(action);
+                        rollBack(action);
+                        continue;
+                    }
+                    retryAt = backOff(action);
+                    Log.w(TAG, "⏳ " + action.kind + " for dare " + action.dareId + " failed, retrying", e);
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Flush failed", e);
+        }
+
+        boolean again;
+        synchronized (this) {
+            flushing = false;
+            again = flushAgain;
+            flushAgain = false;
+        }
+        if (again) {
+            flush();
+        } else if (retryAt > 0) {
+            handler.postDelayed(this::flush, Math.max(0, retryAt - System.currentTimeMillis()));
+        }
+    }
+
+    // True if the dare now has this action's write - just now, or from an earlier try whose
+    // response got lost. False if someone else's write got there first
+    private boolean write(Action action) throws Exception {
+        DocumentReference ref = db.collection("dares").document(action.dareId);
+        DocumentSnapshot skipped = Tasks.await(db.runTransaction(transaction -> {
+            DocumentSnapshot doc = transaction.get(ref);
+            if (!action.appliesTo(doc)) return doc;
+
+            if (SEND.equals(action.kind)) {
+                transaction.set(ref, action.changes(doc));
+            } else {
+                transaction.update(ref, action.changes(doc));
+            }
+            return null;
+        }), FLUSH_TIMEOUT_S, TimeUnit.SECONDS);
+
+        if (skipped != null) {
+            // Already written by an earlier try, or the partner got there first - either way
+            // the server's copy replaces what was applied locally
+            Log.d(TAG, "⏭️ " + action.kind + " for dare " + action.dareId + " no longer applies");
+            ledger.storeConfirmed(skipped);
+            return action.landedIn(skipped);
+        }
+        Log.d(TAG, "✅ " + action.kind + " for dare " + action.dareId + " written");
+        return true;
+    }
+
+    // The action is on the server - now it can count for badges and reach the partner
+    private void confirmed(Action action) {
+        try {
+            switch (action.kind) {
+                case COMPLETE:
+                    badgeTracker.checkDareCompletion(action.payload.getString("category"),
+                            action.payload.getLong("completedAt"), action.payload.getLong("sentAt"),
+                            action.payload.getInt("earnedPoints"));
+                    break;
+                case SEND:
+                    badgeTracker.checkDareSent(
+                            action.payload.getJSONObject("fields").getJSONObject("category").getString("v"));
+                    break;
+            }
+            PartnerNotice notice = PartnerNotice.fromJson(action.payload.optJSONObject("notice"));
+            if (notice != null) notice.send(db, userId);
+        } catch (Exception e) {
+            // Never back into drain's handler - the write itself went through
+            Log.e(TAG, "Couldn't follow up " + action.kind + " for dare " + action.dareId, e);
+        }
+    }
+
+    // The screen already showed this as done - put the ledger back to what the server has,
+    // let open screens do the same, and tell the user it didn't go through
+    private void rollBack(Action action) {
+        DocumentSnapshot current = null;
+        try {
+            current = Tasks.await(db.collection("dares").document(action.dareId).get(),
+                    FLUSH_TIMEOUT_S, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Log.e(TAG, "Couldn't re-read dare " + action.dareId + " after a refused " + action.kind, e);
+        }
+
+        if (current != null && current.exists()) {
+            ledger.storeConfirmed(current);
+        } else {
+            if (SEND.equals(action.kind)) {
+                // Never written - it mustn't count towards the weekly send limits
+                ledger.forget(action.dareId);
+            }
+            current = null;
+        }
+
+        for (RollbackListener listener : rollbackListeners) {
+            listener.onRolledBack(action.dareId, current);
+        }
+        String message = failureMessage(action.kind);
+        BackgroundTasks.runOnMain(() -> Toast.makeText(appContext, message, Toast.LENGTH_LONG).show());
+    }
+
+    private static String failureMessage(String kind) {
+        switch (kind) {
+            case COMPLETE:
+                return "Couldn't save that dare as completed 😅";
+            case REJECT:
+                return "Couldn't reject that dare 😅";
+            case SEND:
+                return "Your dare couldn't be sent - please try again 😅";
+            default:
+                return "Your answer to that custom dare didn't go through 😅";
+        }
+    }
+
+    private Action head() {
+        try (Cursor cursor = ledger.getReadableDatabase().rawQuery(
+                "SELECT id, kind, dareId, payload, attempts, nextAttemptAt FROM pending_actions ORDER BY id LIMIT 1",
+                null)) {
+            if (!cursor.moveToFirst()) return null;
+            Action action = actionAt(cursor);
+            if (action == null) {
+                // Unreadable payload - nothing a retry can fix
+                ledger.getWritableDatabase().delete("pending_actions", "id = ?",
+                        new String[]{String.valueOf(cursor.getLong(0))});
+                return head();
+            }
+            return action;
+        }
+    }
+
+    private void finish(Action action) {
+        ledger.getWritableDatabase().delete("pending_actions", "id = ?",
+                new String[]{String.valueOf(action.id)});
+        synchronized (this) {
+            Action latest = waiting.get(action.dareId);
+            if (latest != null && latest.id == action.id) waiting.remove(action.dareId);
+        }
+    }
+
+    // 2s, 4s, 8s... capped at five minutes. Returns when to try again
+    private long backOff(Action action) {
+        int attempts = action.attempts + 1;
+        long delay = Math.min(MAX_RETRY_MS, FIRST_RETRY_MS << Math.min(attempts - 1, 16));
+        long nextAttemptAt = System.currentTimeMillis() + delay;
+
+        ContentValues values = new ContentValues();
+        values.put("attempts", attempts);
+        values.put("nextAttemptAt", nextAttemptAt);
+        ledger.getWritableDatabase().update("pending_actions", values, "id = ?",
+                new String[]{String.valueOf(action.id)});
+        return nextAttemptAt;
+    }
+
+    // Offline, timed out or the server was busy - worth another go. Refused by the rules
+    // or a bad value won't get better
+    private static boolean isTransient(Exception e) {
+        if (e instanceof TimeoutException || e instanceof InterruptedException) return true;
+        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+        if (!(cause instanceof FirebaseFirestoreException)) return false;
+        switch (((FirebaseFirestoreException) cause).getCode()) {
+            case PERMISSION_DENIED:
+            case INVALID_ARGUMENT:
+            case NOT_FOUND:
+            case FAILED_PRECONDITION:
+            case UNAUTHENTICATED:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    // A pending_actions row, columns as selected in start() and head()
+    private Action actionAt(Cursor cursor) {
+        try {
+            return new Action(cursor.getLong(0), cursor.getString(1), cursor.getString(2),
+                    new JSONObject(cursor.getString(3)), cursor.getInt(4), cursor.getLong(5));
+        } catch (JSONException e) {
+            Log.e(TAG, "Bad queued action " + cursor.getLong(0), e);
+            return null;
+        }
+    }
+
+    private static JSONObject withNotice(JSONObject payload, PartnerNotice notice) {
+        if (notice == null || notice.toUserId == null) return payload;
+        try {
+            return payload.put("notice", notice.toJson());
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static JSONObject payload(Object... pairs) {
+        JSONObject payload = new JSONObject();
+        try {
+            for (int i = 0; i < pairs.length; i += 2) {
+                payload.put((String) pairs[i], pairs[i + 1]);
+            }
+        } catch (JSONException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return payload;
+    }
+
+    // JSON on its own loses what a value was - null comes back as JSONObject.NULL and a
+    // number as whatever size it parses to - so each field is stored with its type
+    private static JSONObject typed(Map<String, Object> fields) {
+        JSONObject typed = new JSONObject();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            Object value = field.getValue();
+            String type;
+            if (value == null) type = "null";
+            else if (value instanceof String) type = "string";
+            else if (value instanceof Integer) type = "int";
+            else if (value instanceof Long) type = "long";
+            else if (value instanceof Double) type = "double";
+            else if (value instanceof Boolean) type = "bool";
+            else throw new IllegalArgumentException("Can't queue " + field.getKey() + ": " + value.getClass());
+            typed.put(field.getKey(), payload("t", type, "v", value != null ? value : JSONObject.NULL));
+        }
+        return typed;
+    }
+
+    private static Map<String, Object> untyped(JSONObject typed) throws JSONException {
+        Map<String, Object> fields = new HashMap<>();
+        Iterator<String> keys = typed.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            JSONObject field = typed.getJSONObject(key);
+            switch (field.getString("t")) {
+                case "null":
+                    fields.put(key, null);
+                    break;
+                case "string":
+                    fields.put(key, field.getString("v"));
+                    break;
+                case "int":
+                    fields.put(key, field.getInt("v"));
+                    break;
+                case "long":
+                    fields.put(key, field.getLong("v"));
+                    break;
+                case "double":
+                    fields.put(key, field.getDouble("v"));
+                    break;
+                case "bool":
+                    fields.put(key, field.getBoolean("v"));
+                    break;
+                default:
+                    throw new JSONException("Unknown type for " + key + ": " + field.getString("t"));
+            }
+        }
+        return fields;
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private class Action {
+        long id;
+        final String kind;
+        final String dareId;
+        final JSONObject payload;
+        final int attempts;
+        final long nextAttemptAt;
+
+        Action(long id, String kind, String dareId, JSONObject payload, int attempts, long nextAttemptAt) {
+            this.id = id;
+            this.kind = kind;
+            this.dareId = dareId;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+
+        // Whether the doc is still in the state this action was made against
+        boolean appliesTo(DocumentSnapshot doc) {
+            if (SEND.equals(kind)) return !doc.exists();
+
+            String status = doc.getString("status");
+            if (REJECT_OFFER.equals(kind)) {
+                return "pending_negotiation".equals(status) && userId.equals(doc.getString("toUserId"));
+            }
+            if (COUNTER.equals(kind)) {
+                Long round = doc.getLong("negotiationCount");
+                return "pending_negotiation".equals(status)
+                        && userId.equals(doc.getString("toUserId"))
+                        && (round != null ? round : 0) == payload.optLong("round");
+            }
+            return "pending".equals(status);
+        }
+
+        // Whether a doc this action no longer applies to shows this action's own write
+        boolean landedIn(DocumentSnapshot doc) {
+            switch (kind) {
+                case SEND:
+                    // The id was made for this send - if it exists, it's ours
+                    return doc.exists();
+                case COMPLETE:
+                    return "completed".equals(doc.getString("status"))
+                            && asLong(doc.get("completedAt")) == payload.optLong("completedAt");
+                case COUNTER:
+                    return userId.equals(doc.getString("lastNegotiatedBy"))
+                            && asLong(doc.get("lastCounterOfferAt")) == payload.optLong("at");
+                default:
+                    return "rejected".equals(doc.getString("status"))
+                            && asLong(doc.get("rejectedAt")) == payload.optLong("rejectedAt");
+            }
+        }
+
+        // The write itself, given the doc as the transaction read it
+        Map<String, Object> changes(DocumentSnapshot doc) throws JSONException {
+            Map<String, Object> changes = new HashMap<>();
+            switch (kind) {
+                case COMPLETE:
+                    changes.put("status", "completed");
+                    changes.put("completedAt", payload.getLong("completedAt"));
+                    changes.put("earnedPoints", payload.getInt("earnedPoints"));
+                    break;
+                case REJECT:
+                    changes.put("status", "rejected");
+                    changes.put("rejectedAt", payload.getLong("rejectedAt"));
+                    break;
+                case REJECT_OFFER:
+                    changes.put("status", "rejected");
+                    changes.put("rejectedAt", payload.getLong("rejectedAt"));
+                    changes.put("rejectedBy", userId);
+                    break;
+                case COUNTER:
+                    int points = payload.getInt("points");
+                    changes.put("proposedPoints", points);
+                    changes.put("negotiatedPoints", points);
+                    changes.put("lastNegotiatedBy", userId);
+                    changes.put("negotiationCount", payload.getLong("round") + 1);
+                    changes.put("lastCounterOfferAt", payload.getLong("at"));
+                    // Swapped so it lands in the proposer's incoming list
+                    changes.put("fromUserId", doc.getString("toUserId"));
+                    changes.put("toUserId", doc.getString("fromUserId"));
+                    break;
+                default:
+                    changes.putAll(untyped(payload.getJSONObject("fields")));
+                    break;
+            }
+            changes.put("updatedAt", FieldValue.serverTimestamp());
+            return changes;
+        }
+    }
+}
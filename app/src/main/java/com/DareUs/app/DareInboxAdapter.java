@@ -0,0 +1,473 @@
+package com.DareUs.app;
+
+import android.content.Context;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The dare inbox as one RecyclerView list - screen header, section headers, dare cards and
+ * the empty / partner cards are all rows.
+ *
+ * Rows are keyed by dareId (fixed keys for everything else) and diffed by ListAdapter, so
+ * completing or rejecting a dare comes out as one move + change instead of a rebuild.
+ * Each card type is its own view type, so cards are only ever rebound, never re-inflated,
+ * while scrolling.
+ */
+public class DareInboxAdapter extends ListAdapter<DareInboxAdapter.Row, RecyclerView.ViewHolder> {
+
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_SECTION = 1;
+    static final int TYPE_ACTIVE = 2;
+    static final int TYPE_COMPLETED = 3;
+    static final int TYPE_MISSED = 4;
+    static final int TYPE_MESSAGE = 5;
+    static final int TYPE_PARTNER = 6;
+    static final int TYPE_MORE = 7;
+
+    static final String KEY_NO_DARES = "message_no_dares";
+
+    private static final long DEFAULT_EXPIRY_MS = 7 * 24 * 60 * 60 * 1000L;
+
+    interface Actions {
+        void onBack();
+        void onComplete(Dare dare, int totalPoints);
+        void onReject(Dare dare);
+        void onViewPartnerDares();
+    }
+
+    private final Actions actions;
+    // Stable ids handed out per key for the life of the adapter
+    private final Map<String, Long> ids = new HashMap<>();
+
+    DareInboxAdapter(Actions actions) {
+        super(DIFF);
+        this.actions = actions;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).type;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String key = getItem(position).key;
+        Long id = ids.get(key);
+        if (id == null) {
+            id = (long) ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        Context context = parent.getContext();
+        switch (viewType) {
+            case TYPE_HEADER: return new HeaderHolder(context, actions);
+            case TYPE_SECTION: return new SectionHolder(context);
+            case TYPE_MESSAGE: return new MessageHolder(context);
+            case TYPE_PARTNER: return new PartnerHolder(context, actions);
+            case TYPE_MORE: return new MoreHolder(context);
+            default: return new DareHolder(context, viewType, actions);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Row row = getItem(position);
+        if (holder instanceof DareHolder) {
+            ((DareHolder) holder).bind(row);
+        } else if (holder instanceof SectionHolder) {
+            ((SectionHolder) holder).bind(row);
+        } else if (holder instanceof MessageHolder) {
+            ((MessageHolder) holder).bind(row);
+        }
+    }
+
+    // Day 1 doubles the points, then +75%, +50%, +25%, then base points only
+    static int bonusFor(int basePoints, long sentAt, long now) {
+        int daysElapsed = (int) TimeUnit.MILLISECONDS.toDays(now - sentAt) + 1;
+        switch (daysElapsed) {
+            case 1: return basePoints;
+            case 2: return (int) (basePoints * 0.75);
+            case 3: return (int) (basePoints * 0.5);
+            case 4: return (int) (basePoints * 0.25);
+            default: return 0;
+        }
+    }
+
+    private static final DiffUtil.ItemCallback<Row> DIFF = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row a, @NonNull Row b) {
+            return a.key.equals(b.key);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row a, @NonNull Row b) {
+            return a.equals(b);
+        }
+    };
+
+    // The card type a dare gets in the inbox - -1 for dares the inbox doesn't list
+    static int typeFor(Dare.Section section) {
+        switch (section) {
+            case ACTIVE: return TYPE_ACTIVE;
+            case COMPLETED: return TYPE_COMPLETED;
+            case MISSED: return TYPE_MISSED;
+            default: return -1;
+        }
+    }
+
+    // One row of the inbox - dare rows carry the decoded Dare, the rest just their text
+    static final class Row {
+        final int type;
+        final String key;
+        final String title;
+        final String subtitle;
+        final Dare dare;
+
+        private Row(int type, String key, String title, String subtitle, Dare dare) {
+            this.type = type;
+            this.key = key;
+            this.title = title;
+            this.subtitle = subtitle;
+            this.dare = dare;
+        }
+
+        static Row header() {
+            return new Row(TYPE_HEADER, "header", null, null, null);
+        }
+
+        static Row section(String key, String title, String subtitle) {
+            return new Row(TYPE_SECTION, key, title, subtitle, null);
+        }
+
+        static Row message(String key, String title, String subtitle) {
+            return new Row(TYPE_MESSAGE, key, title, subtitle, null);
+        }
+
+        static Row partner() {
+            return new Row(TYPE_PARTNER, "partner", null, null, null);
+        }
+
+        // Footer of a section with older pages still on the server
+        static Row more(String key) {
+            return new Row(TYPE_MORE, key, null, null, null);
+        }
+
+        static Row of(Dare dare) {
+            return new Row(typeFor(dare.section), dare.id, null, null, dare);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Row)) return false;
+            Row other = (Row) o;
+            return type == other.type
+                    && key.equals(other.key)
+                    && Objects.equals(title, other.title)
+                    && Objects.equals(subtitle, other.subtitle)
+                    && Objects.equals(dare, other.dare);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+
+    private static RecyclerView.LayoutParams rowParams(int top, int bottom) {
+        RecyclerView.LayoutParams params = new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT
+        );
+        params.setMargins(0, top, 0, bottom);
+        return params;
+    }
+
+    private static TextView text(Context context, int color, int size, boolean bold) {
+        TextView view = new TextView(context);
+        view.setTextColor(color);
+        view.setTextSize(size);
+        if (bold) view.setTypeface(null, Typeface.BOLD);
+        view.setGravity(Gravity.CENTER);
+        return view;
+    }
+
+    static class HeaderHolder extends RecyclerView.ViewHolder {
+        HeaderHolder(Context context, Actions actions) {
+            super(new LinearLayout(context));
+            LinearLayout root = (LinearLayout) itemView;
+            root.setOrientation(LinearLayout.VERTICAL);
+            root.setLayoutParams(rowParams(0, 0));
+
+            Button backButton = new Button(context);
+            backButton.setText("← Back to Dashboard");
+            backButton.setTextColor(0xFFBB86FC);
+            backButton.setTextSize(14);
+            backButton.setBackgroundColor(0x00000000); // Transparent background
+            backButton.setPadding(0, 0, 0, 16);
+            backButton.setOnClickListener(v -> actions.onBack());
+
+            LinearLayout.LayoutParams backButtonParams = new LinearLayout.LayoutParams(
+                    LinearLayout.LayoutParams.WRAP_CONTENT,
+                    LinearLayout.LayoutParams.WRAP_CONTENT
+            );
+            backButtonParams.gravity = Gravity.START;
+            backButton.setLayoutParams(backButtonParams);
+
+            TextView headerText = text(context, 0xFFFFFFFF, 28, true);
+            headerText.setText("🎯 Your Dares");
+            headerText.setPadding(0, 0, 0, 8);
+            headerText.setShadowLayer(15f, 0f, 0f, 0xFFFF6B9D);
+
+            TextView subHeader = text(context, 0xFFE8BBE8, 14, false);
+            subHeader.setText("Complete dares to earn points and unlock badges!");
+            subHeader.setPadding(0, 0, 0, 24);
+
+            root.addView(backButton);
+            root.addView(headerText);
+            root.addView(subHeader);
+        }
+    }
+
+    static class SectionHolder extends RecyclerView.ViewHolder {
+        private final TextView titleText;
+        private final TextView subtitleText;
+
+        SectionHolder(Context context) {
+            super(new LinearLayout(context));
+            LinearLayout headerCard = (LinearLayout) itemView;
+            headerCard.setOrientation(LinearLayout.VERTICAL);
+            headerCard.setPadding(20, 16, 20, 16);
+            headerCard.setBackgroundResource(R.drawable.section_header_bg);
+            headerCard.setLayoutParams(rowParams(16, 8));
+
+            titleText = text(context, 0xFFFFFFFF, 18, true);
+            subtitleText = text(context, 0xFFBB86FC, 12, false);
+            subtitleText.setPadding(0, 4, 0, 0);
+
+            headerCard.addView(titleText);
+            headerCard.addView(subtitleText);
+        }
+
+        void bind(Row row) {
+            titleText.setText(row.title);
+            subtitleText.setText(row.subtitle);
+        }
+    }
+
+    // "No active dares" and the fully empty inbox - same card, the empty inbox a bit bigger
+    static class MessageHolder extends RecyclerView.ViewHolder {
+        private final TextView titleText;
+        private final TextView descText;
+
+        MessageHolder(Context context) {
+            super(new LinearLayout(context));
+            LinearLayout card = (LinearLayout) itemView;
+            card.setOrientation(LinearLayout.VERTICAL);
+            card.setBackgroundResource(R.drawable.glass_card);
+            card.setGravity(Gravity.CENTER);
+            card.setLayoutParams(rowParams(0, 16));
+
+            titleText = text(context, 0xFFFFFFFF, 16, true);
+            descText = text(context, 0xFFE8BBE8, 13, false);
+
+            card.addView(titleText);
+            card.addView(descText);
+        }
+
+        void bind(Row row) {
+            boolean large = KEY_NO_DARES.equals(row.key);
+            itemView.setPadding(24, large ? 32 : 20, 24, large ? 32 : 20);
+            titleText.setTextSize(large ? 18 : 16);
+            descText.setTextSize(large ? 14 : 13);
+            descText.setPadding(0, large ? 8 : 6, 0, 0);
+            titleText.setText(row.title);
+            descText.setText(row.subtitle);
+        }
+    }
+
+    static class PartnerHolder extends RecyclerView.ViewHolder {
+        PartnerHolder(Context context, Actions actions) {
+            super(new LinearLayout(context));
+            LinearLayout buttonCard = (LinearLayout) itemView;
+            buttonCard.setOrientation(LinearLayout.VERTICAL);
+            buttonCard.setPadding(24, 20, 24, 20);
+            buttonCard.setBackgroundResource(R.drawable.glass_card);
+            buttonCard.setLayoutParams(rowParams(0, 16));
+
+            TextView title = text(context, 0xFFFFFFFF, 18, true);
+            title.setText("💕 Partner Activity");
+            title.setPadding(0, 0, 0, 8);
+
+            Button viewButton = new Button(context);
+            viewButton.setText("👀 View Partner's Completed Dares");
+            viewButton.setBackgroundResource(R.drawable.premium_button_gradient);
+            viewButton.setTextColor(0xFFFFFFFF);
+            viewButton.setTextSize(14);
+            viewButton.setPadding(24, 12, 24, 12);
+
+            LinearLayout.LayoutParams buttonParams = new LinearLayout.LayoutParams(
+                    LinearLayout.LayoutParams.WRAP_CONTENT,
+                    LinearLayout.LayoutParams.WRAP_CONTENT
+            );
+            buttonParams.gravity = Gravity.CENTER;
+            buttonParams.setMargins(0, 8, 0, 0);
+            viewButton.setLayoutParams(buttonParams);
+            viewButton.setOnClickListener(v -> actions.onViewPartnerDares());
+
+            buttonCard.addView(title);
+            buttonCard.addView(viewButton);
+        }
+    }
+
+    static class MoreHolder extends RecyclerView.ViewHolder {
+        MoreHolder(Context context) {
+            super(text(context, 0xFFBB86FC, 12, false));
+            TextView loading = (TextView) itemView;
+            loading.setText("Loading older dares...");
+            loading.setPadding(0, 8, 0, 20);
+            loading.setLayoutParams(rowParams(0, 0));
+        }
+    }
+
+    // Active, completed and missed cards - same layout, colours fixed per view type
+    static class DareHolder extends RecyclerView.ViewHolder {
+        private final int type;
+        private final TextView categoryText;
+        private final TextView dareTextView;
+        private final TextView statusText;
+        private final Button completeButton;
+
+        private Dare bound;
+        private int boundTotal;
+
+        DareHolder(Context context, int type, Actions actions) {
+            super(new LinearLayout(context));
+            this.type = type;
+
+            LinearLayout dareCard = (LinearLayout) itemView;
+            dareCard.setOrientation(LinearLayout.VERTICAL);
+            dareCard.setPadding(20, 16, 20, 16);
+            dareCard.setLayoutParams(rowParams(0, 12));
+
+            Drawable background = context.getResources().getDrawable(R.drawable.glass_card).mutate();
+            background.setTint(type == TYPE_ACTIVE ? 0x20B794F6 : type == TYPE_COMPLETED ? 0x204CAF50 : 0x20666666);
+            dareCard.setBackground(background);
+
+            int categoryColor = type == TYPE_ACTIVE ? 0xFFBB86FC : type == TYPE_COMPLETED ? 0xFF4CAF50 : 0xFF999999;
+            int dareColor = type == TYPE_ACTIVE ? 0xFFFFFFFF : type == TYPE_COMPLETED ? 0xFFBBBBBB : 0xFF999999;
+            int statusColor = type == TYPE_ACTIVE ? 0xFFE8BBE8 : type == TYPE_COMPLETED ? 0xFF4CAF50 : 0xFF999999;
+
+            categoryText = text(context, categoryColor, 11, true);
+            dareTextView = text(context, dareColor, 16, false);
+            dareTextView.setPadding(0, 8, 0, 8);
+            statusText = text(context, statusColor, 12, false);
+
+            dareCard.addView(categoryText);
+            dareCard.addView(dareTextView);
+            dareCard.addView(statusText);
+
+            if (type != TYPE_ACTIVE) {
+                completeButton = null;
+                return;
+            }
+
+            LinearLayout buttonLayout = new LinearLayout(context);
+            buttonLayout.setOrientation(LinearLayout.HORIZONTAL);
+            buttonLayout.setGravity(Gravity.CENTER);
+            buttonLayout.setPadding(0, 12, 0, 0);
+
+            completeButton = new Button(context);
+            completeButton.setBackgroundResource(R.drawable.premium_button_gradient);
+            completeButton.setTextColor(0xFFFFFFFF);
+            completeButton.setTextSize(12);
+            completeButton.setPadding(16, 8, 16, 8);
+
+            Button rejectButton = new Button(context);
+            rejectButton.setText("❌ Reject");
+            rejectButton.setBackgroundResource(R.drawable.reject_button_bg);
+            rejectButton.setTextColor(0xFFFFFFFF);
+            rejectButton.setTextSize(12);
+            rejectButton.setPadding(16, 8, 16, 8);
+
+            LinearLayout.LayoutParams buttonParams = new LinearLayout.LayoutParams(
+                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1f
+            );
+            buttonParams.setMargins(4, 0, 4, 0);
+            completeButton.setLayoutParams(buttonParams);
+            rejectButton.setLayoutParams(buttonParams);
+
+            // Set once - the holder reports whichever dare it's showing at the time
+            completeButton.setOnClickListener(v -> {
+                if (bound != null) actions.onComplete(bound, boundTotal);
+            });
+            rejectButton.setOnClickListener(v -> {
+                if (bound != null) actions.onReject(bound);
+            });
+
+            buttonLayout.addView(completeButton);
+            buttonLayout.addView(rejectButton);
+            dareCard.addView(buttonLayout);
+        }
+
+        void bind(Row row) {
+            Dare dare = row.dare;
+            bound = dare;
+            long now = System.currentTimeMillis();
+            String category = dare.custom ? dare.category + " (Custom)" : dare.category;
+            dareTextView.setText(dare.dareText);
+
+            if (type == TYPE_ACTIVE) {
+                long sentAt = dare.sentAt != 0 ? dare.sentAt : now;
+                long expiresAt = dare.expiresAt != 0 ? dare.expiresAt : sentAt + DEFAULT_EXPIRY_MS;
+                int bonusPoints = bonusFor(dare.points, sentAt, now);
+                boundTotal = dare.points + bonusPoints;
+
+                categoryText.setText(bonusPoints > 0
+                        ? category + " • " + dare.points + "+" + bonusPoints + " = " + boundTotal + " points"
+                        : category + " • " + boundTotal + " points");
+
+                long timeRemaining = expiresAt - now;
+                long days = TimeUnit.MILLISECONDS.toDays(timeRemaining);
+                long hours = TimeUnit.MILLISECONDS.toHours(timeRemaining) % 24;
+                int daysElapsed = (int) TimeUnit.MILLISECONDS.toDays(now - sentAt) + 1;
+                statusText.setText("⏰ Day " + daysElapsed + " • " + days + " days, " + hours + " hours left");
+                completeButton.setText("✅ Complete (" + boundTotal + " pts)");
+            } else if (type == TYPE_COMPLETED) {
+                // earnedPoints includes the early bonus - older dares only have the base points
+                int points = dare.earnedPoints > 0 ? dare.earnedPoints : dare.points;
+                categoryText.setText(category + " • " + points + " points");
+                statusText.setText(dare.completedAt != 0 ? "✅ Completed " + ago(dare.completedAt, now) : "✅ COMPLETED");
+            } else {
+                categoryText.setText(category + " • " + dare.points + " points (missed)");
+                statusText.setText(dare.rejectedAt != 0 ? "❌ Rejected " + ago(dare.rejectedAt, now) : "❌ Not completed");
+            }
+        }
+
+        private static String ago(long time, long now) {
+            long daysAgo = TimeUnit.MILLISECONDS.toDays(now - time);
+            if (daysAgo == 0) return "today";
+            if (daysAgo == 1) return "yesterday";
+            return daysAgo + " days ago";
+        }
+    }
+}
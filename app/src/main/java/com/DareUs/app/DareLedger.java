@@ -0,0 +1,342 @@
+package com.DareUs.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * On-device copy of the couple's dares - everything this user sent or received - in
+ * SQLite, so weekly usage and pending counts are an indexed query instead of a download
+ * of dare documents.
+ *
+ * First run pulls each side once. After that two snapshot listeners (sent / received)
+ * only ask for dares whose updatedAt is at or after the newest one stored, so the network
+ * carries changes and nothing else. Every dares write stamps updatedAt with the server
+ * time - see firestore.rules and awardDarePoints.
+ *
+ * One per user for the life of the process, like UnlockedBadgeCache. Until both sides
+ * have synced isReady() is false and the count methods fall back to a Firestore query.
+ *
+ * The same database holds DareActionQueue's pending writes. Those aren't a cache, so they
+ * survive upgrades.
+ */
+public class DareLedger extends SQLiteOpenHelper {
+
+    private static final String TAG = "DareLedger";
+    private static final int VERSION = 3;
+
+    // Server timestamps from concurrent writes can land slightly out of order - re-read
+    // a minute behind the cursor, upserts make the overlap harmless
+    private static final long CURSOR_OVERLAP_MS = 60 * 1000L;
+
+    private static final String SENT = "fromUserId";
+    private static final String RECEIVED = "toUserId";
+
+    private static final Map<String, DareLedger> instances = new HashMap<>();
+
+    private final String userId;
+    private final FirebaseFirestore db;
+    private volatile boolean sentSynced;
+    private volatile boolean receivedSynced;
+
+    public static synchronized DareLedger get(Context context, String userId) {
+        DareLedger ledger = instances.get(userId);
+        if (ledger == null) {
+            ledger = new DareLedger(context.getApplicationContext(), userId);
+            instances.put(userId, ledger);
+            ledger.start();
+        }
+        return ledger;
+    }
+
+    // For callers without a Context - null until someone has started the ledger
+    public static synchronized DareLedger running(String userId) {
+        return instances.get(userId);
+    }
+
+    private DareLedger(Context appContext, String userId) {
+        super(appContext, "dare_ledger_" + userId + ".db", null, VERSION);
+        this.userId = userId;
+        this.db = FirebaseFirestore.getInstance();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase database) {
+        createCache(database);
+        createQueue(database);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase database, int oldVersion, int newVersion) {
+        // The dares are only a cache - drop them and resync from Firestore. Queued writes stay
+        database.execSQL("DROP TABLE IF EXISTS dares");
+        database.execSQL("DROP TABLE IF EXISTS sync_state");
+        createCache(database);
+        createQueue(database);
+    }
+
+    private static void createCache(SQLiteDatabase database) {
+        database.execSQL("CREATE TABLE dares ("
+                + "id TEXT PRIMARY KEY, "
+                + "fromUserId TEXT NOT NULL, "
+                + "toUserId TEXT NOT NULL, "
+                + "category TEXT, "
+                + "status TEXT, "
+                + "points INTEGER NOT NULL DEFAULT 0, "
+                + "earnedPoints INTEGER NOT NULL DEFAULT 0, "
+                + "sentAt INTEGER NOT NULL DEFAULT 0, "
+                + "completedAt INTEGER NOT NULL DEFAULT 0, "
+                + "rejectedAt INTEGER NOT NULL DEFAULT 0, "
+                + "expiresAt INTEGER NOT NULL DEFAULT 0, "
+                + "updatedAt INTEGER NOT NULL DEFAULT 0)");
+        // Weekly usage: my sends by time. Inbox counts and completions: my received by status
+        database.execSQL("CREATE INDEX dares_sent ON dares (fromUserId, sentAt)");
+        database.execSQL("CREATE INDEX dares_received ON dares (toUserId, status, completedAt)");
+        // One row per side once its first full pull is stored; cursor = newest updatedAt seen
+        database.execSQL("CREATE TABLE sync_state (side TEXT PRIMARY KEY, cursor INTEGER NOT NULL)");
+    }
+
+    // Flushed oldest first; nextAttemptAt is when a failed action may be retried
+    private static void createQueue(SQLiteDatabase database) {
+        database.execSQL("CREATE TABLE IF NOT EXISTS pending_actions ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "kind TEXT NOT NULL, "
+                + "dareId TEXT NOT NULL, "
+                + "payload TEXT NOT NULL, "
+                + "attempts INTEGER NOT NULL DEFAULT 0, "
+                + "nextAttemptAt INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    public boolean isReady() {
+        return sentSynced && receivedSynced;
+    }
+
+    /**
+     * Dares this user sent since a time, counted per category - what the weekly send
+     * limits are checked against.
+     */
+    public Task<Map<String, Integer>> sentCountsSince(long since) {
+        if (!isReady()) return querySentCounts(db, userId, since);
+        return Tasks.call(BackgroundTasks.background(), () -> {
+            Map<String, Integer> counts = new HashMap<>();
+            try (Cursor cursor = getReadableDatabase().rawQuery(
+                    "SELECT category, COUNT(*) FROM dares WHERE fromUserId = ? AND sentAt >= ? GROUP BY category",
+                    new String[]{userId, String.valueOf(since)})) {
+                while (cursor.moveToNext()) {
+                    counts.put(cursor.isNull(0) ? "" : cursor.getString(0), cursor.getInt(1));
+                }
+            }
+            return counts;
+        });
+    }
+
+    // Received dares still waiting on this user, not yet expired
+    public Task<Integer> pendingReceivedCount() {
+        long now = System.currentTimeMillis();
+        if (!isReady()) {
+            return db.collection("dares")
+                    .whereEqualTo(RECEIVED, userId)
+                    .whereEqualTo("status", "pending")
+                    .whereGreaterThan("expiresAt", now)
+                    .get()
+                    .continueWith(task -> task.getResult().size());
+        }
+        return count("SELECT COUNT(*) FROM dares WHERE toUserId = ? AND status = 'pending' AND expiresAt > ?",
+                userId, String.valueOf(now));
+    }
+
+    // Custom dares waiting on this user's answer
+    public Task<Integer> pendingNegotiationCount() {
+        if (!isReady()) {
+            return db.collection("dares")
+                    .whereEqualTo(RECEIVED, userId)
+                    .whereEqualTo("status", "pending_negotiation")
+                    .get()
+                    .continueWith(task -> task.getResult().size());
+        }
+        return count("SELECT COUNT(*) FROM dares WHERE toUserId = ? AND status = 'pending_negotiation'", userId);
+    }
+
+    /**
+     * The same per-category send counts straight from Firestore - for before the ledger
+     * has synced, or callers with no Context to start one.
+     */
+    public static Task<Map<String, Integer>> querySentCounts(FirebaseFirestore db, String userId, long since) {
+        return BackgroundTasks.parse(db.collection("dares")
+                .whereEqualTo(SENT, userId)
+                .whereGreaterThanOrEqualTo("sentAt", since)
+                .get(), snapshot -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                String category = doc.getString("category");
+                counts.merge(category != null ? category : "", 1, Integer::sum);
+            }
+            return counts;
+        });
+    }
+
+    private Task<Integer> count(String sql, String... args) {
+        return Tasks.call(BackgroundTasks.background(), () -> {
+            try (Cursor cursor = getReadableDatabase().rawQuery(sql, args)) {
+                return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+            }
+        });
+    }
+
+    /**
+     * A queued write applied ahead of the server - counts see it straight away. The sync
+     * listeners overwrite the row once the real doc comes back. Values without the user
+     * fields only update a dare that's already stored.
+     */
+    void applyLocal(String dareId, ContentValues values) {
+        SQLiteDatabase database = getWritableDatabase();
+        int updated = database.update("dares", values, "id = ?", new String[]{dareId});
+        if (updated == 0 && values.containsKey("fromUserId") && values.containsKey("toUserId")) {
+            values.put("id", dareId);
+            database.insertWithOnConflict("dares", null, values, SQLiteDatabase.CONFLICT_IGNORE);
+        }
+    }
+
+    // The server's copy of a dare a queued write turned out not to apply to - puts back
+    // whatever applyLocal guessed. Leaves the sync cursor alone
+    void storeConfirmed(DocumentSnapshot doc) {
+        if (doc.exists()) store(Collections.singletonList(doc), 0);
+    }
+
+    // A queued send the server refused - the dare was never written
+    void forget(String dareId) {
+        getWritableDatabase().delete("dares", "id = ?", new String[]{dareId});
+    }
+
+    private void start() {
+        BackgroundTasks.background().execute(() -> {
+            sync(SENT);
+            sync(RECEIVED);
+        });
+    }
+
+    // Runs on the background pool
+    private void sync(String side) {
+        Long cursor = readCursor(side);
+        if (cursor == null) {
+            // First run on this device - one full pull. Older dares have no updatedAt,
+            // so the listener's range query would never see them
+            db.collection("dares").whereEqualTo(side, userId).get()
+                    .addOnSuccessListener(BackgroundTasks.background(), snapshot -> {
+                        long newest = store(snapshot.getDocuments(), 0);
+                        writeCursor(side, newest);
+                        Log.d(TAG, "📒 Initial " + side + " sync: " + snapshot.size() + " dares");
+                        listen(side, newest);
+                    })
+                    .addOnFailureListener(e -> Log.e(TAG, "Initial sync failed for " + side, e));
+        } else {
+            listen(side, cursor);
+        }
+    }
+
+    private void listen(String side, long cursor) {
+        Date from = new Date(Math.max(0, cursor - CURSOR_OVERLAP_MS));
+        db.collection("dares")
+                .whereEqualTo(side, userId)
+                .whereGreaterThanOrEqualTo("updatedAt", new Timestamp(from))
+                .addSnapshotListener(BackgroundTasks.background(), (snapshot, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Listener error for " + side, e);
+                        return;
+                    }
+                    if (snapshot == null) return;
+
+                    List<DocumentSnapshot> changed = new ArrayList<>();
+                    for (DocumentChange change : snapshot.getDocumentChanges()) {
+                        changed.add(change.getDocument());
+                    }
+                    if (!changed.isEmpty()) {
+                        Long stored = readCursor(side);
+                        writeCursor(side, store(changed, stored != null ? stored : cursor));
+                    }
+                    // Caught up with whatever changed since last time - safe to answer locally
+                    markSynced(side);
+                });
+    }
+
+    private void markSynced(String side) {
+        if (SENT.equals(side)) sentSynced = true;
+        else receivedSynced = true;
+    }
+
+    // Upserts the docs in one transaction; returns the newest confirmed updatedAt
+    private long store(List<? extends DocumentSnapshot> docs, long newest) {
+        DareActionQueue queue = DareActionQueue.running(userId);
+        SQLiteDatabase database = getWritableDatabase();
+        database.beginTransaction();
+        try {
+            for (DocumentSnapshot doc : docs) {
+                String fromUserId = doc.getString("fromUserId");
+                String toUserId = doc.getString("toUserId");
+                if (fromUserId == null || toUserId == null) continue;
+
+                // Local writes carry no server time yet - stored now, cursor moves when it's confirmed
+                long updatedAt = asLong(doc.get("updatedAt", DocumentSnapshot.ServerTimestampBehavior.ESTIMATE));
+                if (!doc.getMetadata().hasPendingWrites()) newest = Math.max(newest, updatedAt);
+
+                // Older than a queued write already applied here - that write's echo replaces it
+                if (queue != null && queue.supersedes(doc)) continue;
+
+                ContentValues values = new ContentValues();
+                values.put("id", doc.getId());
+                values.put("fromUserId", fromUserId);
+                values.put("toUserId", toUserId);
+                values.put("category", doc.getString("category"));
+                values.put("status", doc.getString("status"));
+                values.put("points", asLong(doc.get("points")));
+                values.put("earnedPoints", asLong(doc.get("earnedPoints")));
+                values.put("sentAt", asLong(doc.get("sentAt")));
+                values.put("completedAt", asLong(doc.get("completedAt")));
+                values.put("rejectedAt", asLong(doc.get("rejectedAt")));
+                values.put("expiresAt", asLong(doc.get("expiresAt")));
+                values.put("updatedAt", updatedAt);
+                database.insertWithOnConflict("dares", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+        return newest;
+    }
+
+    private Long readCursor(String side) {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT cursor FROM sync_state WHERE side = ?", new String[]{side})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : null;
+        }
+    }
+
+    private void writeCursor(String side, long value) {
+        ContentValues values = new ContentValues();
+        values.put("side", side);
+        values.put("cursor", value);
+        getWritableDatabase().insertWithOnConflict("sync_state", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    // Times on dares are plain millis or Firestore timestamps depending on who wrote them
+    private static long asLong(Object value) {
+        if (value instanceof Number) return ((Number) value).longValue();
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate().getTime();
+        return 0;
+    }
+}
@@ -30,10 +30,12 @@ public class DareSelectionActivity extends AppCompatActivity implements PremiumM
     private String currentPartnerId, partnerName;
     private PremiumManager premiumManager;
     private BadgeTracker badgeTracker;
+    private DareActionQueue actionQueue;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "dare_selection");
         setContentView(R.layout.activity_dare_selection);
 
         // Initialize Firebase
@@ -49,7 +51,8 @@ public class DareSelectionActivity extends AppCompatActivity implements PremiumM
 
         // Initialize premium manager and badge tracker
         premiumManager = new PremiumManager(currentUser.getUid(), this);
-        badgeTracker = new BadgeTracker(currentUser.getUid(), this);
+        badgeTracker = new BadgeTracker(this, currentUser.getUid(), this);
+        actionQueue = DareActionQueue.get(this, currentUser.getUid());
 
         // Check if user has partner
         checkPartnerStatus();
@@ -65,6 +68,20 @@ public class DareSelectionActivity extends AppCompatActivity implements PremiumM
         showPremiumUpgradeDialog(category);
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (actionQueue != null) actionQueue.addBadgeUnlockListener(this);
+        if (badgeTracker != null) badgeTracker.start();
+    }
+
+    @Override
+    protected void onStop() {
+        if (actionQueue != null) actionQueue.removeBadgeUnlockListener(this);
+        if (badgeTracker != null) badgeTracker.stop();
+        super.onStop();
+    }
+
     @Override
     public void onBadgeUnlocked(String badgeId, BadgeSystem.Badge badge) {
         // Show EPIC badge celebration dialog!
@@ -301,44 +318,24 @@ public class DareSelectionActivity extends AppCompatActivity implements PremiumM
         calendar.set(Calendar.MILLISECOND, 0);
         long weekStart = calendar.getTimeInMillis();
 
-        db.collection("dares")
-                .whereEqualTo("fromUserId", currentUser.getUid())
-                .whereGreaterThanOrEqualTo("sentAt", weekStart)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("DareSelection", "Error checking limits", e);
-                    // If it's a network error, show connection message. Otherwise, suggest upgrade.
-                    if (e.getMessage() != null && e.getMessage().toLowerCase().contains("network")) {
-                        showPremiumUpgradeDialog("Connection error. Please check your internet and try again!");
-                    } else {
-                        // Database error or other issue - suggest upgrade as failsafe
-                        showPremiumUpgradeDialog("Unable to verify your usage limits.\n\nUpgrade to Premium for unlimited dares and no restrictions!");
-                    }
-                });
-
-
-        db.collection("dares")
-                .whereEqualTo("fromUserId", currentUser.getUid())
-                .whereGreaterThanOrEqualTo("sentAt", weekStart)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+        // Counted from the on-device ledger once it has synced
+        DareLedger.get(this, currentUser.getUid()).sentCountsSince(weekStart)
+                .addOnSuccessListener(counts -> {
                     int sweetCount = 0;
                     int playfulCount = 0;
                     int premiumCount = 0;
                     int totalCount = 0;
 
-                    for (com.google.firebase.firestore.DocumentSnapshot document : querySnapshot.getDocuments()) {
-                        String dareCategory = document.getString("category");
-                        totalCount++;
+                    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                        String dareCategory = entry.getKey();
+                        totalCount += entry.getValue();
 
                         if ("Sweet".equals(dareCategory)) {
-                            sweetCount++;
+                            sweetCount += entry.getValue();
                         } else if ("Playful".equals(dareCategory)) {
-                            playfulCount++;
+                            playfulCount += entry.getValue();
                         } else if ("Adventure".equals(dareCategory) || "Passionate".equals(dareCategory) || "Wild".equals(dareCategory)) {
-                            premiumCount++;
+                            premiumCount += entry.getValue();
                         }
                     }
 
@@ -749,75 +746,16 @@ public class DareSelectionActivity extends AppCompatActivity implements PremiumM
         dareData.put("sentAt", System.currentTimeMillis());
         dareData.put("expiresAt", System.currentTimeMillis() + (7 * 24 * 60 * 60 * 1000L));
 
-        Log.d("DareSelection", "🎯 About to save dare to database...");
-
-        db.collection("dares")
-                .add(dareData)
-                .addOnSuccessListener(documentReference -> {
-                    Log.d("DareSelection", "✅ Dare saved successfully! Now sending notification...");
+        // Queued - saved on the device now, written to Firestore as soon as it can be.
+        // The partner's notification and the sent-dare badges wait until it's written
+        PartnerNotice notice = PartnerNotice.fromSender(currentPartnerId, "💕 New Dare!",
+                "sent you a " + category + " dare!");
+        String dareId = actionQueue.send(dareData, notice);
+        Log.d("DareSelection", "✅ Dare " + dareId + " queued!");
 
-                    // Points are awarded automatically by backend (onDareSent trigger)
+        // Points are awarded automatically by backend (onDareSent trigger)
 
-                    // Track badge achievements for sending
-                    badgeTracker.checkDareSent(category);
-
-                    // 🔔 NEW: Send notification to partner
-                    sendNotificationToPartner(category);
-
-                    showCustomToast("Dare sent to " + partnerName + "! Points will be awarded shortly.");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("DareSelection", "❌ Failed to save dare: " + e.getMessage());
-                    showCustomToast("Failed to send dare. Try again!");
-                });
-    }
-
-    // REPLACE the verbose sendNotificationToPartner() with this clean version:
-    private void sendNotificationToPartner(String category) {
-        if (currentUser == null || currentPartnerId == null || db == null) {
-            Log.e("Notification", "Missing required data for notification");
-            return;
-        }
-
-        // Get my name first
-        db.collection("dareus").document(currentUser.getUid())
-                .get()
-                .addOnSuccessListener(myDoc -> {
-                    String myName = myDoc.getString("firstName");
-                    final String senderName = (myName != null) ? myName : "Your partner";
-
-                    // Get partner's FCM token
-                    db.collection("dareus").document(currentPartnerId)
-                            .get()
-                            .addOnSuccessListener(partnerDoc -> {
-                                String partnerToken = partnerDoc.getString("fcmToken");
-
-                                if (partnerToken != null) {
-                                    // Create notification document
-                                    Map<String, Object> notif = new HashMap<>();
-                                    notif.put("toToken", partnerToken);
-                                    notif.put("title", "💕 New Dare!");
-                                    notif.put("body", senderName + " sent you a " + category + " dare!");
-                                    notif.put("timestamp", System.currentTimeMillis());
-                                    notif.put("sent", false);
-
-                                    db.collection("notifications")
-                                            .add(notif)
-                                            .addOnSuccessListener(doc -> {
-                                                Log.d("Notification", "Notification queued successfully");
-                                            })
-                                            .addOnFailureListener(e -> {
-                                                Log.e("Notification", "Failed to queue notification", e);
-                                            });
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e("Notification", "Failed to get partner data", e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Notification", "Failed to get user data", e);
-                });
+        showCustomToast("Dare sent to " + partnerName + "! Points will be awarded shortly.");
     }
 
     private void showCustomToast(String message) {
@@ -0,0 +1,89 @@
+package com.DareUs.app;
+
+import android.app.Activity;
+import android.content.pm.ApplicationInfo;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+/**
+ * Debug-only frame timing for a screen. Counts frames that missed the 60fps budget
+ * (and frozen ones over 700ms) between start() and stop(), then logs a one-line summary:
+ *
+ *   adb logcat -s FrameJank
+ *
+ * Release builds skip it entirely.
+ */
+public class FrameJankTracker {
+
+    private static final String TAG = "FrameJank";
+
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L;
+    private static final long FROZEN_FRAME_NANOS = 700_000_000L;
+
+    private static HandlerThread metricsThread;
+
+    private final Activity activity;
+    private final String screen;
+    private final boolean enabled;
+
+    private Window.OnFrameMetricsAvailableListener listener;
+
+    // Only touched on the metrics thread while attached
+    private int totalFrames;
+    private int jankyFrames;
+    private int frozenFrames;
+    private long worstFrameNanos;
+
+    public FrameJankTracker(Activity activity, String screen) {
+        this.activity = activity;
+        this.screen = screen;
+        this.enabled = (activity.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    // Call from onResume()
+    public void start() {
+        if (!enabled || listener != null) return;
+
+        totalFrames = 0;
+        jankyFrames = 0;
+        frozenFrames = 0;
+        worstFrameNanos = 0;
+
+        listener = (window, frameMetrics, dropCount) -> {
+            long duration = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            totalFrames++;
+            if (duration > FRAME_BUDGET_NANOS) jankyFrames++;
+            if (duration > FROZEN_FRAME_NANOS) frozenFrames++;
+            worstFrameNanos = Math.max(worstFrameNanos, duration);
+        };
+        activity.getWindow().addOnFrameMetricsAvailableListener(listener, metricsHandler());
+    }
+
+    // Call from onPause()
+    public void stop() {
+        if (listener == null) return;
+
+        activity.getWindow().removeOnFrameMetricsAvailableListener(listener);
+        listener = null;
+
+        // Read the counters on the thread that wrote them
+        metricsHandler().post(() -> {
+            if (totalFrames == 0) return;
+            Log.d(TAG, String.format(java.util.Locale.US,
+                    "📊 %s: %d frames, %d janky (%.1f%%), %d frozen, worst %.1fms",
+                    screen, totalFrames, jankyFrames, 100f * jankyFrames / totalFrames,
+                    frozenFrames, worstFrameNanos / 1_000_000f));
+        });
+    }
+
+    private static synchronized Handler metricsHandler() {
+        if (metricsThread == null) {
+            metricsThread = new HandlerThread("FrameMetrics");
+            metricsThread.start();
+        }
+        return new Handler(metricsThread.getLooper());
+    }
+}
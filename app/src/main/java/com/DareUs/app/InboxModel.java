@@ -0,0 +1,91 @@
+package com.DareUs.app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the inbox knows about the user's received dares: the three sections, each kept in
+ * display order. Pages from InboxPager are appended at the back; changes from the inbox
+ * listener (and the user's own actions) are upserted into whichever section the dare
+ * belongs in now.
+ *
+ * The activity turns this into adapter rows after every change and ListAdapter diffs them,
+ * so one changed dare is one changed row on screen. Main thread only.
+ */
+public class InboxModel {
+
+    // Each section is ordered by the dare's precomputed sort key
+    private static final Comparator<DareInboxAdapter.Row> ORDER =
+            (a, b) -> Long.compare(a.dare.sortKey, b.dare.sortKey);
+
+    final List<DareInboxAdapter.Row> active = new ArrayList<>();
+    final List<DareInboxAdapter.Row> completed = new ArrayList<>();
+    final List<DareInboxAdapter.Row> missed = new ArrayList<>();
+
+    private final Map<String, DareInboxAdapter.Row> byId = new HashMap<>();
+    private final InboxPager pager;
+
+    InboxModel(InboxPager pager) {
+        this.pager = pager;
+    }
+
+    // A page off the server goes on the back of its section. Anything already here came
+    // from the listener and is at least as new, so it wins
+    void addPage(List<DareInboxAdapter.Row> rows) {
+        for (DareInboxAdapter.Row row : rows) {
+            if (byId.containsKey(row.dare.id)) continue;
+            sectionFor(row.type).add(row);
+            byId.put(row.dare.id, row);
+        }
+    }
+
+    // The dare as it is now - out of its old spot, into its place in the section it belongs
+    // to. Dares the inbox doesn't list (negotiations) just drop out
+    void upsert(Dare dare) {
+        remove(dare.id);
+        DareInboxAdapter.Row row = DareInboxAdapter.Row.of(dare);
+        if (row.type == -1) return;
+
+        List<DareInboxAdapter.Row> section = sectionFor(row.type);
+        int index = Collections.binarySearch(section, row, ORDER);
+        if (index < 0) index = -index - 1;
+
+        // Sorts past everything loaded while older pages are still on the server - it'll
+        // turn up with its page
+        if (index == section.size() && hasMore(row.type)) return;
+
+        section.add(index, row);
+        byId.put(dare.id, row);
+    }
+
+    Dare get(String dareId) {
+        DareInboxAdapter.Row row = byId.get(dareId);
+        return row != null ? row.dare : null;
+    }
+
+    DareInboxAdapter.Row remove(String dareId) {
+        DareInboxAdapter.Row row = byId.remove(dareId);
+        if (row != null) sectionFor(row.type).remove(row);
+        return row;
+    }
+
+    boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    private List<DareInboxAdapter.Row> sectionFor(int type) {
+        if (type == DareInboxAdapter.TYPE_ACTIVE) return active;
+        if (type == DareInboxAdapter.TYPE_COMPLETED) return completed;
+        return missed;
+    }
+
+    private boolean hasMore(int type) {
+        if (type == DareInboxAdapter.TYPE_COMPLETED) return pager.hasMoreCompleted();
+        if (type == DareInboxAdapter.TYPE_MISSED) return pager.hasMoreMissed();
+        return false;
+    }
+}
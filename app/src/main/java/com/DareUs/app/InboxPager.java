@@ -0,0 +1,152 @@
+package com.DareUs.app;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The dare inbox's sections as separate server-ordered queries, a page at a time, so
+ * opening the inbox costs the active dares plus one page per section however old the
+ * account is.
+ *
+ * Active: every pending dare not yet expired, soonest to expire first. Weekly send limits
+ * keep that small, so it isn't paged.
+ * Completed: newest completedAt first, startAfter the last doc of the previous page.
+ * Missed: rejected (by rejectedAt) and expired (by expiresAt) are two queries, merged
+ * newest first. Each keeps a page buffered so the merge never runs one ahead of the other.
+ *
+ * "Expired" is judged against when the inbox opened so the cursors stay consistent while
+ * paging. One instance per inbox screen.
+ */
+public class InboxPager {
+
+    public static final int PAGE_SIZE = 20;
+
+    private final FirebaseFirestore db;
+    private final String userId;
+    private final long openedAt;
+    private final Source completed;
+    private final Source rejected;
+    private final Source expired;
+
+    public InboxPager(String userId) {
+        this.db = FirebaseFirestore.getInstance();
+        this.userId = userId;
+        this.openedAt = System.currentTimeMillis();
+
+        completed = new Source(received()
+                .whereEqualTo("status", "completed")
+                .orderBy("completedAt", Query.Direction.DESCENDING));
+        rejected = new Source(received()
+                .whereEqualTo("status", "rejected")
+                .orderBy("rejectedAt", Query.Direction.DESCENDING));
+        expired = new Source(received()
+                .whereEqualTo("status", "pending")
+                .whereLessThanOrEqualTo("expiresAt", openedAt)
+                .orderBy("expiresAt", Query.Direction.DESCENDING));
+    }
+
+    public Task<List<DareInboxAdapter.Row>> loadActive() {
+        Query active = received()
+                .whereEqualTo("status", "pending")
+                .whereGreaterThan("expiresAt", openedAt)
+                .orderBy("expiresAt");
+        return BackgroundTasks.parse(active.get(), snapshot -> {
+            List<DareInboxAdapter.Row> rows = new ArrayList<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                rows.add(DareInboxAdapter.Row.of(Dare.from(doc, openedAt)));
+            }
+            return rows;
+        });
+    }
+
+    public Task<List<DareInboxAdapter.Row>> nextCompleted() {
+        return completed.fill().continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return take(completed, null);
+        });
+    }
+
+    public Task<List<DareInboxAdapter.Row>> nextMissed() {
+        return Tasks.whenAll(rejected.fill(), expired.fill()).continueWith(task -> {
+            if (!task.isSuccessful()) throw task.getException();
+            return take(rejected, expired);
+        });
+    }
+
+    public long openedAt() {
+        return openedAt;
+    }
+
+    public synchronized boolean hasMoreCompleted() {
+        return completed.hasMore();
+    }
+
+    public synchronized boolean hasMoreMissed() {
+        return rejected.hasMore() || expired.hasMore();
+    }
+
+    // The user field is what the security rules check - without it the query is rejected
+    private Query received() {
+        return db.collection("dares").whereEqualTo("toUserId", userId);
+    }
+
+    // Up to a page off the front of the buffers, newest first across both
+    private synchronized List<DareInboxAdapter.Row> take(Source a, Source b) {
+        List<DareInboxAdapter.Row> page = new ArrayList<>();
+        while (page.size() < PAGE_SIZE) {
+            DareInboxAdapter.Row first = a.buffered.peek();
+            DareInboxAdapter.Row second = b != null ? b.buffered.peek() : null;
+            if (first == null && second == null) break;
+
+            if (second == null || (first != null && first.dare.sortKey <= second.dare.sortKey)) {
+                page.add(a.buffered.poll());
+            } else {
+                page.add(b.buffered.poll());
+            }
+        }
+        return page;
+    }
+
+    private class Source {
+        final Query query;
+        final ArrayDeque<DareInboxAdapter.Row> buffered = new ArrayDeque<>();
+        DocumentSnapshot last;
+        boolean exhausted;
+
+        Source(Query query) {
+            this.query = query;
+        }
+
+        // Tops the buffer up to a full page - one query at most, none if it's already there
+        Task<Void> fill() {
+            DocumentSnapshot after;
+            synchronized (InboxPager.this) {
+                if (exhausted || buffered.size() >= PAGE_SIZE) return Tasks.forResult(null);
+                after = last;
+            }
+
+            Query page = after != null ? query.startAfter(after) : query;
+            return BackgroundTasks.parse(page.limit(PAGE_SIZE).get(), snapshot -> {
+                List<DocumentSnapshot> docs = snapshot.getDocuments();
+                synchronized (InboxPager.this) {
+                    for (DocumentSnapshot doc : docs) {
+                        buffered.add(DareInboxAdapter.Row.of(Dare.from(doc, openedAt)));
+                    }
+                    if (!docs.isEmpty()) last = docs.get(docs.size() - 1);
+                    exhausted = docs.size() < PAGE_SIZE;
+                }
+                return null;
+            });
+        }
+
+        boolean hasMore() {
+            return !buffered.isEmpty() || !exhausted;
+        }
+    }
+}
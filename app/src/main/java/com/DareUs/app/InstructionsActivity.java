@@ -13,6 +13,7 @@ public class InstructionsActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "instructions");
         setupInstructionsUI();
     }
 
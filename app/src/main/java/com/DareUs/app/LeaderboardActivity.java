@@ -2,25 +2,30 @@ package com.DareUs.app;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.Gravity;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.functions.FirebaseFunctions;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.List;
 
 public class LeaderboardActivity extends AppCompatActivity {
@@ -31,13 +36,33 @@ public class LeaderboardActivity extends AppCompatActivity {
     private String currentPartnerId, partnerName, firstName;
     private LinearLayout mainLayout;
     private int myPoints = 0, partnerPoints = 0, myMonthlyPoints = 0, partnerMonthlyPoints = 0;
+    private int totalWins = 0, winStreak = 0, competitionsParticipated = 0;
     private String currentMonth;
     private String coupleId;
     private PremiumManager premiumManager;
+    private FrameJankTracker frameJankTracker;
+    private long openedAt;
+    private boolean firstRenderReported = false;
+
+    // Live competition doc - the cards below are patched in place as it changes
+    private ListenerRegistration competitionListener;
+    private DocumentSnapshot renderedCompetition;
+    private LinearLayout pointsCard, prizeCard, leaderRow, trailerRow;
+    private TextView differenceText, countdownView, monthProgressLabel;
+    private ProgressGlowView monthProgress;
+    private int renderedDay;
+    private boolean prizePromptShown = false;
+
+    // Last state shown, so coming back to the screen paints straight away instead of
+    // waiting on three reads. Only reused for the same user and month
+    private static CachedState cachedState;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        openedAt = SystemClock.elapsedRealtime();
+        BadgeTracker.recordScreenVisit(this, "leaderboard");
+        frameJankTracker = new FrameJankTracker(this, "leaderboard");
 
         // Initialize Firebase FIRST
         mAuth = FirebaseAuth.getInstance();
@@ -54,12 +79,41 @@ public class LeaderboardActivity extends AppCompatActivity {
         premiumManager = new PremiumManager(currentUser.getUid(), null);
 
         // Get current month
-        currentMonth = new SimpleDateFormat("yyyy-MM", Locale.getDefault()).format(Calendar.getInstance().getTime());
+        currentMonth = CompetitionTimeline.currentMonth();
 
         setupLeaderboardUI();
+        restoreCachedState();
         loadUserData();
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        startCompetitionListener();
+    }
+
+    @Override
+    protected void onStop() {
+        // No point patching cards nobody can see - onStart re-attaches and catches up
+        if (competitionListener != null) {
+            competitionListener.remove();
+            competitionListener = null;
+        }
+        super.onStop();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        frameJankTracker.start();
+    }
+
+    @Override
+    protected void onPause() {
+        frameJankTracker.stop();
+        super.onPause();
+    }
+
     private void setupLeaderboardUI() {
         // Create main layout with premium styling
         mainLayout = new LinearLayout(this);
@@ -112,7 +166,17 @@ public class LeaderboardActivity extends AppCompatActivity {
                         Long points = doc.getLong("points");
                         myPoints = points != null ? points.intValue() : 0;
 
+                        // Running record, kept up to date when each month closes
+                        Long wins = doc.getLong("totalWins");
+                        Long streak = doc.getLong("winStreak");
+                        Long participated = doc.getLong("competitionsParticipated");
+                        totalWins = wins != null ? wins.intValue() : 0;
+                        winStreak = streak != null ? streak.intValue() : 0;
+                        competitionsParticipated = participated != null ? participated.intValue() : 0;
+
+                        String shownCoupleId = coupleId;
                         if (currentPartnerId == null || currentPartnerId.isEmpty()) {
+                            if (shownCoupleId != null) discardLiveBoard();
                             showNoPartnerMessage();
                             return;
                         }
@@ -121,7 +185,9 @@ public class LeaderboardActivity extends AppCompatActivity {
                         coupleId = currentUser.getUid().compareTo(currentPartnerId) < 0 ?
                                 currentUser.getUid() + "_" + currentPartnerId :
                                 currentPartnerId + "_" + currentUser.getUid();
+                        if (shownCoupleId != null && !shownCoupleId.equals(coupleId)) discardLiveBoard();
 
+                        checkCompetitionBadges();
                         loadPartnerData();
                     }
                 })
@@ -130,6 +196,19 @@ public class LeaderboardActivity extends AppCompatActivity {
                 });
     }
 
+    private void checkCompetitionBadges() {
+        // Competition badges for last month, once it's been closed
+        BadgeTracker badgeTracker = new BadgeTracker(this, currentUser.getUid(), new BadgeTracker.BadgeUnlockListener() {
+            @Override
+            public void onBadgeUnlocked(String badgeId, BadgeSystem.Badge badge) {
+                if (isFinishing()) return;
+                BadgeCelebrationDialog celebrationDialog = new BadgeCelebrationDialog(LeaderboardActivity.this, badge);
+                celebrationDialog.show();
+            }
+        });
+        badgeTracker.checkCompetitionBadges();
+    }
+
     private void loadPartnerData() {
         db.collection("dareus").document(currentPartnerId)
                 .get()
@@ -139,7 +218,7 @@ public class LeaderboardActivity extends AppCompatActivity {
                         Long partnerPointsLong = partnerDoc.getLong("points");
                         partnerPoints = partnerPointsLong != null ? partnerPointsLong.intValue() : 0;
 
-                        loadMonthlyCompetition();
+                        startCompetitionListener();
                     } else {
                         showCustomToast("Partner data not found");
                     }
@@ -149,33 +228,101 @@ public class LeaderboardActivity extends AppCompatActivity {
                 });
     }
 
-    private void loadMonthlyCompetition() {
-        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
-                .get()
-                .addOnSuccessListener(competitionDoc -> {
-                    if (competitionDoc.exists()) {
-                        // Check if current user has set their prize
-                        boolean isUser1 = currentUser.getUid().compareTo(currentPartnerId) < 0;
-                        Boolean myPrizeSet = isUser1 ? competitionDoc.getBoolean("user1PrizeSet") : competitionDoc.getBoolean("user2PrizeSet");
-
-                        if (myPrizeSet == null || !myPrizeSet) {
-                            // Current user hasn't set their prize yet
+    private void restoreCachedState() {
+        CachedState cached = cachedState;
+        if (cached == null || !cached.userId.equals(currentUser.getUid()) || !cached.month.equals(currentMonth)) {
+            return;
+        }
+
+        firstName = cached.firstName;
+        partnerName = cached.partnerName;
+        currentPartnerId = cached.partnerId;
+        coupleId = cached.coupleId;
+        myPoints = cached.myPoints;
+        totalWins = cached.totalWins;
+        winStreak = cached.winStreak;
+        competitionsParticipated = cached.competitionsParticipated;
+
+        // Fresh reads still run behind this; the listener takes over from here
+        Log.d("Leaderboard", "⚡ Showing cached leaderboard while refreshing");
+        onCompetitionChanged(cached.competitionDoc);
+    }
+
+    // Partner changed since the cached board was shown - start over from scratch
+    private void discardLiveBoard() {
+        if (competitionListener != null) {
+            competitionListener.remove();
+            competitionListener = null;
+        }
+        cachedState = null;
+        pointsCard = null;
+        partnerName = null;
+        while (mainLayout.getChildCount() > 3) {
+            mainLayout.removeViewAt(3);
+        }
+    }
+
+    private void startCompetitionListener() {
+        if (competitionListener != null || coupleId == null || partnerName == null) return;
+        // Data can land after onStop - onStart will attach it then
+        if (!getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) return;
+
+        competitionListener = db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
+                .addSnapshotListener((competitionDoc, e) -> {
+                    if (e != null) {
+                        // No doc for this month yet reads as denied - a failed listener is dead,
+                        // so drop it and let savePrizeChoice / onStart attach a fresh one
+                        Log.e("Leaderboard", "Competition listener failed", e);
+                        if (competitionListener != null) {
+                            competitionListener.remove();
+                            competitionListener = null;
+                        }
+                        if (pointsCard == null && !prizePromptShown) {
+                            prizePromptShown = true;
                             showPrizeSelectionDialog();
-                        } else {
-                            // Competition exists and user has set prize, load points
-                            loadMonthlyPoints(competitionDoc);
                         }
-                    } else {
-                        // No competition yet, create one
-                        showPrizeSelectionDialog();
+                        return;
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Leaderboard", "Error loading competition", e);
-                    showPrizeSelectionDialog();
+                    onCompetitionChanged(competitionDoc);
                 });
     }
 
+    private void onCompetitionChanged(DocumentSnapshot competitionDoc) {
+        boolean isUser1 = currentUser.getUid().compareTo(currentPartnerId) < 0;
+        Boolean myPrizeSet = competitionDoc.exists()
+                ? competitionDoc.getBoolean(isUser1 ? "user1PrizeSet" : "user2PrizeSet") : null;
+
+        if (myPrizeSet == null || !myPrizeSet) {
+            // Nothing to show until this user picks a prize - the listener fires again once they do
+            if (!prizePromptShown) {
+                prizePromptShown = true;
+                showPrizeSelectionDialog();
+            }
+            return;
+        }
+
+        // onDareCompleted / onDareSent keep both running totals on the competition doc,
+        // in the same transaction that awards the points - no dare queries needed
+        int previousMine = myMonthlyPoints;
+        int previousPartner = partnerMonthlyPoints;
+        myMonthlyPoints = monthlyPoints(competitionDoc, isUser1 ? "currentUser1Points" : "currentUser2Points");
+        partnerMonthlyPoints = monthlyPoints(competitionDoc, isUser1 ? "currentUser2Points" : "currentUser1Points");
+
+        if (pointsCard == null) {
+            Log.d("Leaderboard", "My total: " + myMonthlyPoints + ", partner total: " + partnerMonthlyPoints);
+            displayLeaderboard(competitionDoc);
+        } else {
+            refreshScores(previousMine, previousPartner);
+            refreshCountdown();
+            if (prizeFieldsChanged(renderedCompetition, competitionDoc)) {
+                prizeCard = replaceCard(prizeCard, createPrizeCard(competitionDoc));
+            }
+            renderedCompetition = competitionDoc;
+        }
+
+        cachedState = new CachedState(this, competitionDoc);
+    }
+
     private void showPrizeSelectionDialog() {
         android.widget.EditText prizeInput = new android.widget.EditText(this);
         prizeInput.setHint("What do you want if you win this month?");
@@ -194,6 +341,7 @@ public class LeaderboardActivity extends AppCompatActivity {
                     if (!TextUtils.isEmpty(prize)) {
                         savePrizeChoice(prize);
                     } else {
+                        prizePromptShown = false;
                         showCustomToast("Please enter a prize!");
                     }
                 })
@@ -201,253 +349,49 @@ public class LeaderboardActivity extends AppCompatActivity {
                     // Create competition without prize
                     savePrizeChoice("Winner's choice");
                 })
+                // Backed out without choosing - ask again next time the competition loads
+                .setOnCancelListener(dialog -> prizePromptShown = false)
                 .show();
     }
 
     private void savePrizeChoice(String prize) {
-        // Calculate month start/end
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.DAY_OF_MONTH, 1);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-        long monthStart = cal.getTimeInMillis();
-
-        cal.add(Calendar.MONTH, 1);
-        cal.add(Calendar.DAY_OF_MONTH, -1);
-        cal.set(Calendar.HOUR_OF_DAY, 23);
-        cal.set(Calendar.MINUTE, 59);
-        cal.set(Calendar.SECOND, 59);
-        long monthEnd = cal.getTimeInMillis();
-
         boolean isUser1 = currentUser.getUid().compareTo(currentPartnerId) < 0;
 
-        // Check if competition document already exists
-        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
-                .get()
-                .addOnSuccessListener(existingDoc -> {
-                    Map<String, Object> competitionData = new HashMap<>();
-
-                    if (existingDoc.exists()) {
-                        // Update existing competition with current user's prize
-                        if (isUser1) {
-                            competitionData.put("user1Prize", prize);
-                            competitionData.put("user1PrizeSet", true);
-                        } else {
-                            competitionData.put("user2Prize", prize);
-                            competitionData.put("user2PrizeSet", true);
-                        }
-
-                        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
-                                .update(competitionData)
-                                .addOnSuccessListener(aVoid -> {
-                                    showCustomToast("Prize set!");
-                                    loadMonthlyPoints(null);
-                                })
-                                .addOnFailureListener(e -> {
-                                    showCustomToast("Error saving prize. Try again!");
-                                });
-                    } else {
-                        // Create new competition document
-                        competitionData.put("coupleId", coupleId);
-                        competitionData.put("month", currentMonth);
-                        competitionData.put("startDate", monthStart);
-                        competitionData.put("endDate", monthEnd);
-                        competitionData.put("user1Id", currentUser.getUid().compareTo(currentPartnerId) < 0 ? currentUser.getUid() : currentPartnerId);
-                        competitionData.put("user2Id", currentUser.getUid().compareTo(currentPartnerId) < 0 ? currentPartnerId : currentUser.getUid());
-
-                        // Set current user's prize
-                        if (isUser1) {
-                            competitionData.put("user1Prize", prize);
-                            competitionData.put("user1PrizeSet", true);
-                            competitionData.put("user2PrizeSet", false);
-                        } else {
-                            competitionData.put("user2Prize", prize);
-                            competitionData.put("user2PrizeSet", true);
-                            competitionData.put("user1PrizeSet", false);
-                        }
-
-                        competitionData.put("user1Revealed", false);
-                        competitionData.put("user2Revealed", false);
-
-                        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
-                                .set(competitionData)
-                                .addOnSuccessListener(aVoid -> {
-                                    showCustomToast("Prize set! Waiting for " + partnerName + " to set theirs.");
-                                    loadMonthlyPoints(null);
-                                })
-                                .addOnFailureListener(e -> {
-                                    showCustomToast("Error saving prize. Try again!");
-                                });
-                    }
-                });
-    }
+        // One merge write, no get-then-set: awardDarePoints may create the same doc at any moment,
+        // and merging only the identity + our prize fields never clobbers its running totals.
+        // The identity values are what the server writes too, so on an existing doc they're no-ops
+        // and only the prize fields count as changed.
+        Map<String, Object> prizeFields = new HashMap<>();
+        prizeFields.put("coupleId", coupleId);
+        prizeFields.put("month", currentMonth);
+        prizeFields.put("user1Id", isUser1 ? currentUser.getUid() : currentPartnerId);
+        prizeFields.put("user2Id", isUser1 ? currentPartnerId : currentUser.getUid());
+        prizeFields.put(isUser1 ? "user1Prize" : "user2Prize", prize);
+        prizeFields.put(isUser1 ? "user1PrizeSet" : "user2PrizeSet", true);
 
-    private void loadMonthlyPoints(com.google.firebase.firestore.DocumentSnapshot competitionDoc) {
-        // Calculate month start timestamp
-        Calendar cal = Calendar.getInstance();
-        cal.set(Calendar.DAY_OF_MONTH, 1);
-        cal.set(Calendar.HOUR_OF_DAY, 0);
-        cal.set(Calendar.MINUTE, 0);
-        cal.set(Calendar.SECOND, 0);
-        cal.set(Calendar.MILLISECOND, 0);
-        long monthStart = cal.getTimeInMillis();
-
-        Log.d("Leaderboard", "Loading monthly points since: " + new java.util.Date(monthStart));
-
-        // Use arrays to avoid lambda final variable issue
-        final int[] myCompletedPoints = {0};
-        final int[] mySentPoints = {0};
-        final int[] partnerCompletedPoints = {0};
-        final int[] partnerSentPoints = {0};
-
-        // Load MY completed dares
-        db.collection("dares")
-                .whereEqualTo("toUserId", currentUser.getUid())
-                .whereEqualTo("status", "completed")
-                .whereGreaterThan("completedAt", monthStart)
-                .get()
-                .addOnSuccessListener(myCompletedDares -> {
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot dare : myCompletedDares) {
-                        Long points = dare.getLong("earnedPoints");
-                        if (points != null) {
-                            myCompletedPoints[0] += points.intValue();
-                        }
-                    }
-
-                    // Load MY sent dares
-                    db.collection("dares")
-                            .whereEqualTo("fromUserId", currentUser.getUid())
-                            .whereGreaterThan("sentAt", monthStart)
-                            .get()
-                            .addOnSuccessListener(mySentDares -> {
-                                for (com.google.firebase.firestore.QueryDocumentSnapshot dare : mySentDares) {
-                                    Long points = dare.getLong("senderPoints");
-                                    if (points != null) {
-                                        mySentPoints[0] += points.intValue();
-                                    }
-                                }
-
-                                // Load PARTNER completed dares
-                                db.collection("dares")
-                                        .whereEqualTo("toUserId", currentPartnerId)
-                                        .whereEqualTo("status", "completed")
-                                        .whereGreaterThan("completedAt", monthStart)
-                                        .get()
-                                        .addOnSuccessListener(partnerCompletedDares -> {
-                                            for (com.google.firebase.firestore.QueryDocumentSnapshot dare : partnerCompletedDares) {
-                                                Long points = dare.getLong("earnedPoints");
-                                                if (points != null) {
-                                                    partnerCompletedPoints[0] += points.intValue();
-                                                }
-                                            }
-
-                                            // Load PARTNER sent dares
-                                            db.collection("dares")
-                                                    .whereEqualTo("fromUserId", currentPartnerId)
-                                                    .whereGreaterThan("sentAt", monthStart)
-                                                    .get()
-                                                    .addOnSuccessListener(partnerSentDares -> {
-                                                        for (com.google.firebase.firestore.QueryDocumentSnapshot dare : partnerSentDares) {
-                                                            Long points = dare.getLong("senderPoints");
-                                                            if (points != null) {
-                                                                partnerSentPoints[0] += points.intValue();
-                                                            }
-                                                        }
-
-                                                        // NOW assign to class fields
-                                                        myMonthlyPoints = myCompletedPoints[0] + mySentPoints[0];
-                                                        partnerMonthlyPoints = partnerCompletedPoints[0] + partnerSentPoints[0];
-
-                                                        Log.d("Leaderboard", "My total: " + myMonthlyPoints + " (completed: " + myCompletedPoints[0] + ", sent: " + mySentPoints[0] + ")");
-                                                        Log.d("Leaderboard", "Partner total: " + partnerMonthlyPoints + " (completed: " + partnerCompletedPoints[0] + ", sent: " + partnerSentPoints[0] + ")");
-
-                                                        // Update competition with current points
-                                                        updateCompetitionWithCurrentPoints();
-
-                                                        // Display the leaderboard
-                                                        displayLeaderboard(competitionDoc);
-                                                    })
-                                                    .addOnFailureListener(e -> {
-                                                        Log.e("Leaderboard", "Error loading partner sent dares", e);
-                                                        // Set partner points and continue
-                                                        myMonthlyPoints = myCompletedPoints[0] + mySentPoints[0];
-                                                        partnerMonthlyPoints = partnerCompletedPoints[0];
-                                                        displayLeaderboard(competitionDoc);
-                                                    });
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Log.e("Leaderboard", "Error loading partner completed dares", e);
-                                            // Set points and continue
-                                            myMonthlyPoints = myCompletedPoints[0] + mySentPoints[0];
-                                            partnerMonthlyPoints = 0;
-                                            displayLeaderboard(competitionDoc);
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e("Leaderboard", "Error loading my sent dares", e);
-                                // Continue with just completed points
-                                myMonthlyPoints = myCompletedPoints[0];
-                                loadPartnerPointsOnly(competitionDoc, monthStart);
-                            });
+        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
+                .set(prizeFields, SetOptions.merge())
+                .addOnSuccessListener(aVoid -> {
+                    showCustomToast("Prize set!");
+                    // The doc may only exist now - a listener that failed on the missing one can attach
+                    startCompetitionListener();
                 })
-                .addOnFailureListener(e -> {
-                    Log.e("Leaderboard", "Error loading my completed dares", e);
-                    myMonthlyPoints = 0;
-                    partnerMonthlyPoints = 0;
-                    displayLeaderboard(competitionDoc);
-                });
+                .addOnFailureListener(e -> onPrizeSaveFailed(e));
     }
 
-    // Helper method for error handling
-    private void loadPartnerPointsOnly(com.google.firebase.firestore.DocumentSnapshot competitionDoc, long monthStart) {
-        db.collection("dares")
-                .whereEqualTo("toUserId", currentPartnerId)
-                .whereEqualTo("status", "completed")
-                .whereGreaterThan("completedAt", monthStart)
-                .get()
-                .addOnSuccessListener(partnerDares -> {
-                    partnerMonthlyPoints = 0;
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot dare : partnerDares) {
-                        Long points = dare.getLong("earnedPoints");
-                        if (points != null) {
-                            partnerMonthlyPoints += points.intValue();
-                        }
-                    }
-                    displayLeaderboard(competitionDoc);
-                })
-                .addOnFailureListener(e -> {
-                    partnerMonthlyPoints = 0;
-                    displayLeaderboard(competitionDoc);
-                });
+    // Nothing was saved - the prompt can come up again
+    private void onPrizeSaveFailed(Exception e) {
+        Log.e("Leaderboard", "Error saving prize", e);
+        prizePromptShown = false;
+        showCustomToast("Error saving prize. Try again!");
     }
 
-    private void updateCompetitionWithCurrentPoints() {
-        // Update the competition document with current month's points
-        boolean isUser1 = currentUser.getUid().compareTo(currentPartnerId) < 0;
-
-        Map<String, Object> updates = new HashMap<>();
-        if (isUser1) {
-            updates.put("currentUser1Points", myMonthlyPoints);
-            updates.put("currentUser2Points", partnerMonthlyPoints);
-        } else {
-            updates.put("currentUser1Points", partnerMonthlyPoints);
-            updates.put("currentUser2Points", myMonthlyPoints);
-        }
-        updates.put("lastUpdated", System.currentTimeMillis());
-
-        db.collection("monthlyCompetitions").document(coupleId + "_" + currentMonth)
-                .update(updates)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Leaderboard", "Updated competition with current points");
-                })
-                .addOnFailureListener(e -> {
-                    Log.w("Leaderboard", "Could not update competition points", e);
-                });
+    private static int monthlyPoints(DocumentSnapshot competitionDoc, String field) {
+        Long points = competitionDoc.getLong(field);
+        return points != null ? points.intValue() : 0;
     }
 
-    private void displayLeaderboard(com.google.firebase.firestore.DocumentSnapshot competitionDoc) {
+    private void displayLeaderboard(DocumentSnapshot competitionDoc) {
         // CLEAR existing competition cards ONLY (keep header and back button)
         // Count from the end and remove cards added after the back button
         int startIndex = 3; // Header, month text, back button = 3 items
@@ -456,18 +400,17 @@ public class LeaderboardActivity extends AppCompatActivity {
         }
 
         // Monthly points breakdown card
-        LinearLayout pointsCard = createDetailedPointsCard();
+        pointsCard = createDetailedPointsCard();
         mainLayout.addView(pointsCard);
 
-        // Prize section if competition exists
-        if (competitionDoc != null && competitionDoc.exists()) {
-            LinearLayout prizeCard = createPrizeCard(competitionDoc);
-            mainLayout.addView(prizeCard);
-        }
+        // Prize section - always there once a prize is set
+        prizeCard = createPrizeCard(competitionDoc);
+        mainLayout.addView(prizeCard);
+        renderedCompetition = competitionDoc;
 
         // Enhanced countdown with premium styling
-        LinearLayout countdownCard = createPremiumCountdownCard();
-        mainLayout.addView(countdownCard);
+        mainLayout.addView(createPremiumCountdownCard());
+        renderedDay = Calendar.getInstance().get(Calendar.DAY_OF_MONTH);
 
         // Historical winners
         LinearLayout historyCard = createHistoryCard();
@@ -475,6 +418,67 @@ public class LeaderboardActivity extends AppCompatActivity {
 
 // ADD THIS: Check competition badges when viewing leaderboard
         Log.d("Leaderboard", "Current scores - Me: " + myMonthlyPoints + ", Partner: " + partnerMonthlyPoints);
+
+        if (!firstRenderReported) {
+            firstRenderReported = true;
+            reportTimeToFirstRender(pointsCard);
+        }
+    }
+
+    // Only rows whose numbers changed get rebuilt. If the lead or a tie flips, both rows
+    // swap places / styling, so both are redone
+    private void refreshScores(int previousMine, int previousPartner) {
+        boolean reordered = (previousMine >= previousPartner) != (myMonthlyPoints >= partnerMonthlyPoints)
+                || isTie(previousMine, previousPartner) != isTie(myMonthlyPoints, partnerMonthlyPoints);
+        boolean imWinning = myMonthlyPoints >= partnerMonthlyPoints;
+
+        if (reordered || previousMine != myMonthlyPoints) {
+            fillPlayerRow(imWinning ? leaderRow : trailerRow, true, imWinning);
+        }
+        if (reordered || previousPartner != partnerMonthlyPoints) {
+            fillPlayerRow(imWinning ? trailerRow : leaderRow, false, !imWinning);
+        }
+        updateDifferenceText();
+    }
+
+    // Days left only moves at midnight - update then (the prize reveal window moves with it)
+    private void refreshCountdown() {
+        int today = Calendar.getInstance().get(Calendar.DAY_OF_MONTH);
+        if (today == renderedDay) return;
+        renderedDay = today;
+        bindCountdown(true);
+        prizeCard = replaceCard(prizeCard, createPrizeCard(renderedCompetition));
+    }
+
+    private static boolean prizeFieldsChanged(DocumentSnapshot before, DocumentSnapshot after) {
+        for (String field : new String[]{"user1Prize", "user2Prize", "user1Revealed", "user2Revealed"}) {
+            if (!java.util.Objects.equals(before.get(field), after.get(field))) return true;
+        }
+        return false;
+    }
+
+    private LinearLayout replaceCard(LinearLayout oldCard, LinearLayout newCard) {
+        int index = mainLayout.indexOfChild(oldCard);
+        mainLayout.removeViewAt(index);
+        mainLayout.addView(newCard, index);
+        return newCard;
+    }
+
+    private static boolean isTie(int mine, int partner) {
+        return mine == partner && mine > 0;
+    }
+
+    // Screen open -> first frame with the scores in it
+    private void reportTimeToFirstRender(LinearLayout pointsCard) {
+        pointsCard.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                pointsCard.getViewTreeObserver().removeOnPreDrawListener(this);
+                long elapsed = SystemClock.elapsedRealtime() - openedAt;
+                Log.d("Leaderboard", "⏱️ Time to first render: " + elapsed + "ms");
+                return true;
+            }
+        });
     }
 
     private LinearLayout createDetailedPointsCard() {
@@ -539,46 +543,27 @@ public class LeaderboardActivity extends AppCompatActivity {
         tableHeader.addView(headerBonus);
         tableHeader.addView(headerTotal);
 
-        // Calculate detailed points (for now using simplified logic)
-        int myBasePoints = (int)(myMonthlyPoints * 0.7); // Approximate base points
-        int myBonusPoints = myMonthlyPoints - myBasePoints;
-        int partnerBasePoints = (int)(partnerMonthlyPoints * 0.7);
-        int partnerBonusPoints = partnerMonthlyPoints - partnerBasePoints;
-
         // Determine winner and create rows in winner-first order
         boolean imWinning = myMonthlyPoints >= partnerMonthlyPoints;
 
-        LinearLayout firstRow = new LinearLayout(this);
-        firstRow.setOrientation(LinearLayout.HORIZONTAL);
-        firstRow.setPadding(0, 4, 0, 4);
+        leaderRow = new LinearLayout(this);
+        leaderRow.setOrientation(LinearLayout.HORIZONTAL);
+        leaderRow.setPadding(0, 4, 0, 4);
 
-        LinearLayout secondRow = new LinearLayout(this);
-        secondRow.setOrientation(LinearLayout.HORIZONTAL);
-        secondRow.setPadding(0, 4, 0, 4);
+        trailerRow = new LinearLayout(this);
+        trailerRow.setOrientation(LinearLayout.HORIZONTAL);
+        trailerRow.setPadding(0, 4, 0, 4);
 
-        if (imWinning) {
-            // I'm winning, show my row first
-            createPlayerRow(firstRow, firstName, myBasePoints, myBonusPoints, myMonthlyPoints, true);
-            createPlayerRow(secondRow, partnerName, partnerBasePoints, partnerBonusPoints, partnerMonthlyPoints, false);
-        } else {
-            // Partner is winning, show partner row first
-            createPlayerRow(firstRow, partnerName, partnerBasePoints, partnerBonusPoints, partnerMonthlyPoints, true);
-            createPlayerRow(secondRow, firstName, myBasePoints, myBonusPoints, myMonthlyPoints, false);
-        }
+        fillPlayerRow(imWinning ? leaderRow : trailerRow, true, imWinning);
+        fillPlayerRow(imWinning ? trailerRow : leaderRow, false, !imWinning);
 
         // Points difference
-        TextView difference = new TextView(this);
-        int diff = Math.abs(myMonthlyPoints - partnerMonthlyPoints);
-        if (diff == 0) {
-            difference.setText("🤝 Perfect tie! Both win at month-end! 🎉");
-        } else {
-            String leader = myMonthlyPoints > partnerMonthlyPoints ? firstName : partnerName;
-            difference.setText(leader + " leads by " + diff + " points");
-        }
-        difference.setTextColor(0xFFFFFFFF);
-        difference.setTextSize(12);
-        difference.setGravity(Gravity.CENTER);
-        difference.setPadding(0, 12, 0, 0);
+        differenceText = new TextView(this);
+        updateDifferenceText();
+        differenceText.setTextColor(0xFFFFFFFF);
+        differenceText.setTextSize(12);
+        differenceText.setGravity(Gravity.CENTER);
+        differenceText.setPadding(0, 12, 0, 0);
 
         card.addView(title);
         card.addView(tableHeader);
@@ -594,17 +579,35 @@ public class LeaderboardActivity extends AppCompatActivity {
         divider.setLayoutParams(dividerParams);
         card.addView(divider);
 
-        card.addView(firstRow);
-        card.addView(secondRow);
-        card.addView(difference);
+        card.addView(leaderRow);
+        card.addView(trailerRow);
+        card.addView(differenceText);
 
         return card;
     }
 
+    private void fillPlayerRow(LinearLayout row, boolean mine, boolean isWinner) {
+        // Calculate detailed points (for now using simplified logic)
+        int total = mine ? myMonthlyPoints : partnerMonthlyPoints;
+        int basePoints = (int)(total * 0.7); // Approximate base points
+        row.removeAllViews();
+        createPlayerRow(row, mine ? firstName : partnerName, basePoints, total - basePoints, total, isWinner);
+    }
+
+    private void updateDifferenceText() {
+        int diff = Math.abs(myMonthlyPoints - partnerMonthlyPoints);
+        if (diff == 0) {
+            differenceText.setText("🤝 Perfect tie! Both win at month-end! 🎉");
+        } else {
+            String leader = myMonthlyPoints > partnerMonthlyPoints ? firstName : partnerName;
+            differenceText.setText(leader + " leads by " + diff + " points");
+        }
+    }
+
     private void createPlayerRow(LinearLayout row, String playerName, int basePoints, int bonusPoints, int totalPoints, boolean isWinner) {
         TextView nameView = new TextView(this);
         // Show trophy for winner, but special handling for ties
-        boolean isTie = myMonthlyPoints == partnerMonthlyPoints && myMonthlyPoints > 0;
+        boolean isTie = isTie(myMonthlyPoints, partnerMonthlyPoints);
         if (isTie) {
             nameView.setText(playerName + " 🏆"); // Both get trophy in a tie
         } else {
@@ -664,12 +667,6 @@ public class LeaderboardActivity extends AppCompatActivity {
         title.setGravity(Gravity.CENTER);
         title.setPadding(0, 0, 0, 16);
 
-        // Calculate days remaining in month
-        Calendar cal = Calendar.getInstance();
-        int today = cal.get(Calendar.DAY_OF_MONTH);
-        int lastDay = cal.getActualMaximum(Calendar.DAY_OF_MONTH);
-        int daysLeft = lastDay - today + 1;
-
         // Premium styled countdown with better visual design
         LinearLayout countdownContainer = new LinearLayout(this);
         countdownContainer.setOrientation(LinearLayout.VERTICAL);
@@ -682,7 +679,41 @@ public class LeaderboardActivity extends AppCompatActivity {
         countdownShape.setStroke(2, 0xFFB794F6);
         countdownContainer.setBackground(countdownShape);
 
-        TextView countdown = new TextView(this);
+        countdownView = new TextView(this);
+        countdownView.setTextSize(20);
+        countdownView.setTypeface(null, android.graphics.Typeface.BOLD);
+        countdownView.setGravity(Gravity.CENTER);
+        countdownView.setPadding(0, 0, 0, 12);
+
+        // Premium progress bar with gradient and glow effect - one drawn view
+        monthProgress = new ProgressGlowView(this);
+        monthProgress.setPadding(8, 8, 8, 8);
+
+        monthProgressLabel = new TextView(this);
+        monthProgressLabel.setTextColor(0xFFE8BBE8);
+        monthProgressLabel.setTextSize(12);
+        monthProgressLabel.setGravity(Gravity.CENTER);
+        monthProgressLabel.setPadding(0, 8, 0, 0);
+
+        bindCountdown(false);
+
+        countdownContainer.addView(countdownView);
+        countdownContainer.addView(monthProgress);
+        countdownContainer.addView(monthProgressLabel);
+
+        card.addView(title);
+        card.addView(countdownContainer);
+
+        return card;
+    }
+
+    private void bindCountdown(boolean animate) {
+        // Calculate days remaining in month
+        Calendar cal = Calendar.getInstance();
+        int today = cal.get(Calendar.DAY_OF_MONTH);
+        int lastDay = cal.getActualMaximum(Calendar.DAY_OF_MONTH);
+        int daysLeft = lastDay - today + 1;
+
         String countdownText;
         int countdownColor;
 
@@ -700,63 +731,13 @@ public class LeaderboardActivity extends AppCompatActivity {
             countdownColor = 0xFFBB86FC;
         }
 
-        countdown.setText(countdownText);
-        countdown.setTextColor(countdownColor);
-        countdown.setTextSize(20);
-        countdown.setTypeface(null, android.graphics.Typeface.BOLD);
-        countdown.setGravity(Gravity.CENTER);
-        countdown.setPadding(0, 0, 0, 12);
-
-        // Premium progress bar with gradient and glow effect
-        LinearLayout progressContainer = new LinearLayout(this);
-        progressContainer.setOrientation(LinearLayout.HORIZONTAL);
-        progressContainer.setPadding(8, 8, 8, 8);
-
-        LinearLayout progressBar = new LinearLayout(this);
-        progressBar.setOrientation(LinearLayout.HORIZONTAL);
-
-        // Create gradient progress bar
-        int progress = (int)(((float)(today - 1) / (lastDay - 1)) * 20);
-        for (int i = 0; i < 20; i++) {
-            TextView progressBlock = new TextView(this);
-            progressBlock.setText("█");
-            progressBlock.setTextSize(16);
-            progressBlock.setPadding(1, 0, 1, 0);
-
-            if (i < progress) {
-                // Gradient effect - more intense for recent progress
-                float intensity = 1.0f - (float)i / progress;
-                int color = i < progress * 0.3f ? 0xFF4CAF50 :
-                        i < progress * 0.7f ? 0xFFFFEB3B : 0xFFFF6B9D;
-                progressBlock.setTextColor(color);
-                progressBlock.setShadowLayer(8f, 0f, 0f, color);
-            } else {
-                progressBlock.setTextColor(0x40FFFFFF);
-            }
-            progressBar.addView(progressBlock);
-        }
-
-        progressContainer.addView(progressBar);
-        progressContainer.setGravity(Gravity.CENTER);
-
-        TextView progressLabel = new TextView(this);
-        progressLabel.setText("Day " + today + " of " + lastDay);
-        progressLabel.setTextColor(0xFFE8BBE8);
-        progressLabel.setTextSize(12);
-        progressLabel.setGravity(Gravity.CENTER);
-        progressLabel.setPadding(0, 8, 0, 0);
-
-        countdownContainer.addView(countdown);
-        countdownContainer.addView(progressContainer);
-        countdownContainer.addView(progressLabel);
-
-        card.addView(title);
-        card.addView(countdownContainer);
-
-        return card;
+        countdownView.setText(countdownText);
+        countdownView.setTextColor(countdownColor);
+        monthProgress.setProgress((int)(((float)(today - 1) / (lastDay - 1)) * ProgressGlowView.SEGMENTS), animate);
+        monthProgressLabel.setText("Day " + today + " of " + lastDay);
     }
 
-    private LinearLayout createPrizeCard(com.google.firebase.firestore.DocumentSnapshot competitionDoc) {
+    private LinearLayout createPrizeCard(DocumentSnapshot competitionDoc) {
         LinearLayout card = new LinearLayout(this);
         card.setOrientation(LinearLayout.VERTICAL);
         card.setPadding(24, 20, 24, 20);
@@ -836,14 +817,14 @@ public class LeaderboardActivity extends AppCompatActivity {
             buttonParams.setMargins(0, 16, 0, 0);
             revealButton.setLayoutParams(buttonParams);
 
-            revealButton.setOnClickListener(v -> revealPartnerPrize(competitionDoc));
+            revealButton.setOnClickListener(v -> revealPartnerPrize());
             card.addView(revealButton);
         }
 
         return card;
     }
 
-    private void revealPartnerPrize(com.google.firebase.firestore.DocumentSnapshot competitionDoc) {
+    private void revealPartnerPrize() {
         new AlertDialog.Builder(this, R.style.CustomDialogTheme)
                 .setTitle("Reveal Partner's Prize?")
                 .setMessage("This will cost you 25 points to see what " + partnerName + " wants if they win.\n\nAre you sure?")
@@ -863,7 +844,7 @@ public class LeaderboardActivity extends AppCompatActivity {
                                     int newBalance = ((Long) response.get("newBalance")).intValue();
 
                                     // Track Code Breaker badge
-                                    BadgeTracker badgeTracker = new BadgeTracker(currentUser.getUid(), new BadgeTracker.BadgeUnlockListener() {
+                                    BadgeTracker badgeTracker = new BadgeTracker(LeaderboardActivity.this, currentUser.getUid(), new BadgeTracker.BadgeUnlockListener() {
                                         @Override
                                         public void onBadgeUnlocked(String badgeId, BadgeSystem.Badge badge) {
                                             // Show EPIC badge celebration dialog!
@@ -873,8 +854,9 @@ public class LeaderboardActivity extends AppCompatActivity {
                                     });
                                     badgeTracker.onPrizeRevealed();
 
+                                    // The reveal flag comes back through the listener and redraws the prize card
+                                    myPoints = newBalance;
                                     showCustomToast("Prize revealed! You lost 25 points. New balance: " + newBalance);
-                                    recreate(); // Refresh screen
                                 }
                             })
                             .addOnFailureListener(e -> {
@@ -922,36 +904,26 @@ public class LeaderboardActivity extends AppCompatActivity {
         loadHistoricalWinners(card);
 
         card.addView(title);
+
+        if (competitionsParticipated > 0) {
+            TextView record = new TextView(this);
+            record.setText("🏆 " + totalWins + " of " + competitionsParticipated + " won" +
+                    (winStreak > 1 ? "  •  🔥 " + winStreak + " in a row" : ""));
+            record.setTextColor(0xFFFFD700);
+            record.setTextSize(13);
+            record.setGravity(Gravity.CENTER);
+            record.setPadding(0, 0, 0, 12);
+            card.addView(record);
+        }
         return card;
     }
 
     private void loadHistoricalWinners(LinearLayout card) {
-        // Query past competitions
-        db.collection("monthlyCompetitions")
-                .whereEqualTo("coupleId", coupleId)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    if (queryDocumentSnapshots.isEmpty()) {
-                        TextView noHistory = new TextView(this);
-                        noHistory.setText("No past competitions yet\n\nStart competing to build your history!");
-                        noHistory.setTextColor(0xFF9575CD);
-                        noHistory.setTextSize(12);
-                        noHistory.setGravity(Gravity.CENTER);
-                        noHistory.setPadding(0, 8, 0, 0);
-                        card.addView(noHistory);
-                        return;
-                    }
-
-                    // Process competitions...
-                    List<com.google.firebase.firestore.QueryDocumentSnapshot> completedCompetitions = new ArrayList<>();
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : queryDocumentSnapshots) {
-                        String month = doc.getString("month");
-                        if (month != null && !month.equals(currentMonth)) {
-                            completedCompetitions.add(doc);
-                        }
-                    }
-
-                    if (completedCompetitions.isEmpty()) {
+        // Newest past months first, a page at a time - closed months come from the disk cache
+        CompetitionHistory history = new CompetitionHistory(this, currentUser.getUid(), currentPartnerId, currentMonth);
+        history.loadFirstPage()
+                .addOnSuccessListener(this, months -> {
+                    if (months.isEmpty()) {
                         TextView noHistory = new TextView(this);
                         noHistory.setText("First month competing!\n\nHistory will appear next month!");
                         noHistory.setTextColor(0xFF9575CD);
@@ -972,68 +944,9 @@ public class LeaderboardActivity extends AppCompatActivity {
                     historyLabel.setPadding(0, 0, 0, 12);
                     card.addView(historyLabel);
 
-                    // Show last 3 competitions
-                    int count = 0;
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : completedCompetitions) {
-                        if (count >= 3) break;
-
-                        String month = doc.getString("month");
-                        // Try multiple field names for backwards compatibility
-                        Long user1Points = doc.getLong("currentUser1Points");
-                        Long user2Points = doc.getLong("currentUser2Points");
-
-// Fallback to older field names if current ones don't exist
-                        if (user1Points == null) {
-                            user1Points = doc.getLong("finalUser1Points");
-                        }
-                        if (user2Points == null) {
-                            user2Points = doc.getLong("finalUser2Points");
-                        }
-// Another fallback - use user points directly
-                        if (user1Points == null) {
-                            user1Points = doc.getLong("user1Points");
-                        }
-                        if (user2Points == null) {
-                            user2Points = doc.getLong("user2Points");
-                        }
-
-                        TextView competitionText = new TextView(this);
-                        String displayText = getMonthDisplayName(month) + ": ";
-
-// Check if this month is actually finished
-                        boolean isMonthFinished = isMonthComplete(month);
-
-                        if (user1Points != null && user2Points != null && (user1Points > 0 || user2Points > 0)) {
-                            if (user1Points > user2Points) {
-                                String user1Id = doc.getString("user1Id");
-                                String winner = user1Id != null && user1Id.equals(currentUser.getUid()) ? "You" : partnerName;
-                                displayText += winner + " won (" + user1Points + "-" + user2Points + ")";
-                            } else if (user2Points > user1Points) {
-                                String user2Id = doc.getString("user2Id");
-                                String winner = user2Id != null && user2Id.equals(currentUser.getUid()) ? "You" : partnerName;
-                                displayText += winner + " won (" + user2Points + "-" + user1Points + ")";
-                            } else {
-                                displayText += "Tie (" + user1Points + " each)";
-                            }
-                        } else if (isMonthFinished) {
-                            // Month is finished but no points - probably no dares completed
-                            displayText += "No activity (0-0)";
-                        } else {
-                            // Month is still in progress
-                            displayText += "Month in progress (0-0)";
-                        }
-
-                        competitionText.setText(displayText);
-                        competitionText.setTextColor(0xFFE8BBE8);
-                        competitionText.setTextSize(11);
-                        competitionText.setGravity(Gravity.CENTER);
-                        competitionText.setPadding(0, 2, 0, 2);
-                        card.addView(competitionText);
-
-                        count++;
-                    }
+                    addHistoryPage(card, history, months);
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
                     Log.e("Leaderboard", "Error loading history", e);
                     TextView errorText = new TextView(this);
                     errorText.setText("Unable to load competition history");
@@ -1043,29 +956,60 @@ public class LeaderboardActivity extends AppCompatActivity {
                     card.addView(errorText);
                 });
     }
-    private boolean isMonthComplete(String monthCode) {
-        try {
-            String[] parts = monthCode.split("-");
-            int year = Integer.parseInt(parts[0]);
-            int month = Integer.parseInt(parts[1]); // 1-12
 
-            Calendar monthEnd = Calendar.getInstance();
-            monthEnd.set(Calendar.YEAR, year);
-            monthEnd.set(Calendar.MONTH, month - 1); // Calendar months are 0-11
-            monthEnd.set(Calendar.DAY_OF_MONTH, monthEnd.getActualMaximum(Calendar.DAY_OF_MONTH));
-            monthEnd.set(Calendar.HOUR_OF_DAY, 23);
-            monthEnd.set(Calendar.MINUTE, 59);
-            monthEnd.set(Calendar.SECOND, 59);
+    private void addHistoryPage(LinearLayout card, CompetitionHistory history, List<CompetitionHistory.Month> months) {
+        for (CompetitionHistory.Month month : months) {
+            TextView competitionText = new TextView(this);
+            competitionText.setText(historyLine(month));
+            competitionText.setTextColor(0xFFE8BBE8);
+            competitionText.setTextSize(11);
+            competitionText.setGravity(Gravity.CENTER);
+            competitionText.setPadding(0, 2, 0, 2);
+            card.addView(competitionText);
+        }
 
-            long monthEndTime = monthEnd.getTimeInMillis();
-            long now = System.currentTimeMillis();
+        if (!history.hasMore()) return;
+
+        Button loadMore = new Button(this);
+        loadMore.setText("Show older months");
+        loadMore.setTextColor(0xFFBB86FC);
+        loadMore.setTextSize(12);
+        loadMore.setBackgroundColor(0x00000000);
+        loadMore.setOnClickListener(v -> {
+            loadMore.setEnabled(false);
+            history.loadMore()
+                    .addOnSuccessListener(this, older -> {
+                        card.removeView(loadMore);
+                        addHistoryPage(card, history, older);
+                    })
+                    .addOnFailureListener(this, e -> {
+                        Log.e("Leaderboard", "Error loading older history", e);
+                        loadMore.setEnabled(true);
+                        showCustomToast("Couldn't load older months");
+                    });
+        });
+        card.addView(loadMore);
+    }
 
-            return now > monthEndTime;
-        } catch (Exception e) {
-            // If we can't parse, assume it's old and finished
-            return true;
+    private String historyLine(CompetitionHistory.Month month) {
+        boolean isUser1 = currentUser.getUid().compareTo(currentPartnerId) < 0;
+        long mine = isUser1 ? month.user1Points : month.user2Points;
+        long theirs = isUser1 ? month.user2Points : month.user1Points;
+
+        String displayText = getMonthDisplayName(month.month) + ": ";
+        if (mine == 0 && theirs == 0) {
+            // No dares completed - or the close job hasn't got to it yet
+            displayText += month.closed ? "No activity (0-0)" : "Results pending (0-0)";
+        } else if (mine > theirs) {
+            displayText += "You won (" + mine + "-" + theirs + ")";
+        } else if (theirs > mine) {
+            displayText += partnerName + " won (" + theirs + "-" + mine + ")";
+        } else {
+            displayText += "Tie (" + mine + " each)";
         }
+        return displayText;
     }
+
     private String getMonthDisplayName(String monthCode) {
         try {
             String[] parts = monthCode.split("-");
@@ -1139,4 +1083,24 @@ public class LeaderboardActivity extends AppCompatActivity {
         customToast.setGravity(Gravity.BOTTOM | Gravity.CENTER_HORIZONTAL, 0, 100);
         customToast.show();
     }
-}
\ No newline at end of file
+
+    private static class CachedState {
+        final String userId, month, coupleId, partnerId, firstName, partnerName;
+        final int myPoints, totalWins, winStreak, competitionsParticipated;
+        final DocumentSnapshot competitionDoc;
+
+        CachedState(LeaderboardActivity activity, DocumentSnapshot competitionDoc) {
+            userId = activity.currentUser.getUid();
+            month = activity.currentMonth;
+            coupleId = activity.coupleId;
+            partnerId = activity.currentPartnerId;
+            firstName = activity.firstName;
+            partnerName = activity.partnerName;
+            myPoints = activity.myPoints;
+            totalWins = activity.totalWins;
+            winStreak = activity.winStreak;
+            competitionsParticipated = activity.competitionsParticipated;
+            this.competitionDoc = competitionDoc;
+        }
+    }
+}
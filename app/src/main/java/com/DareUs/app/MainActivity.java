@@ -41,6 +41,7 @@ public class MainActivity extends AppCompatActivity implements BadgeTracker.Badg
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "main");
 
         try {
             mAuth = FirebaseAuth.getInstance();
@@ -442,24 +443,22 @@ public class MainActivity extends AppCompatActivity implements BadgeTracker.Badg
         FirebaseUser currentUser = mAuth.getCurrentUser();
         if (currentUser == null) return;
 
+        // Starts the dare ledger for this session - counts come from it once it has synced
+        DareLedger ledger = DareLedger.get(this, currentUser.getUid());
+        // ...and flushes any dare writes still queued from an earlier session
+        DareActionQueue.get(this, currentUser.getUid());
+
         // Load pending negotiations count
-        db.collection("dares")
-                .whereEqualTo("toUserId", currentUser.getUid())
-                .whereEqualTo("status", "pending_negotiation")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    pendingNegotiationsCount = querySnapshot.size();
+        ledger.pendingNegotiationCount()
+                .addOnSuccessListener(count -> {
+                    pendingNegotiationsCount = count;
                     updateButtonWithCount(negotiationsButton, pendingNegotiationsCount, "Custom Dares");
                 });
 
         // Load received dares count (only pending, not completed) - one-time check
-        db.collection("dares")
-                .whereEqualTo("toUserId", currentUser.getUid())
-                .whereEqualTo("status", "pending")
-                .whereGreaterThan("expiresAt", System.currentTimeMillis())
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    receivedDaresCount = querySnapshot.size();
+        ledger.pendingReceivedCount()
+                .addOnSuccessListener(count -> {
+                    receivedDaresCount = count;
                     if (receivedDaresButton != null) {
                         updateButtonWithCount(receivedDaresButton, receivedDaresCount, "Received Dares");
                     }
@@ -12,7 +12,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class PartnerBadgesActivity extends AppCompatActivity {
@@ -21,13 +21,15 @@ public class PartnerBadgesActivity extends AppCompatActivity {
     private FirebaseFirestore db;
     private FirebaseUser currentUser;
     private LinearLayout mainLayout;
-    private List<String> partnerUnlockedBadges = new ArrayList<>();
+    private BitSet partnerUnlockedBadges = new BitSet(BadgeSystem.count()); // by badge ordinal
+    private BadgeProgress partnerProgress = BadgeSystem.progressFor(BadgeSnapshot.empty());
     private String partnerId, partnerName;
     private int partnerTotalPoints = 0;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "partner_badges");
 
         mAuth = FirebaseAuth.getInstance();
         db = FirebaseFirestore.getInstance();
@@ -155,7 +157,7 @@ public class PartnerBadgesActivity extends AppCompatActivity {
                             return;
                         }
 
-                        // Load partner's basic info
+                        // Partner's doc has everything - info, unlocked badges and badge progress
                         db.collection("dareus").document(partnerId)
                                 .get()
                                 .addOnSuccessListener(partnerDoc -> {
@@ -166,8 +168,18 @@ public class PartnerBadgesActivity extends AppCompatActivity {
 
                                         // Update header with partner name
                                         updateHeaderWithPartnerName();
-                                        loadPartnerBadges();
+
+                                        // From their side we're the partner (Power Couple counts both)
+                                        partnerUnlockedBadges = BadgeSystem.ordinalsOf((List<?>) partnerDoc.get("unlockedBadges"));
+                                        partnerProgress = BadgeSystem.progressFor(
+                                                BadgeSnapshot.fromDocs(partnerDoc.getData(), doc.getData()));
+                                        Log.d("PartnerBadges", "Found " + partnerUnlockedBadges.cardinality() + " partner badges");
+                                        updateStatsAndDisplayBadges();
                                     }
+                                })
+                                .addOnFailureListener(e -> {
+                                    Log.e("PartnerBadges", "Error loading partner badges", e);
+                                    updateStatsAndDisplayBadges(); // Show badges anyway, just all locked
                                 });
                     }
                 });
@@ -180,35 +192,10 @@ public class PartnerBadgesActivity extends AppCompatActivity {
         }
     }
 
-    private void loadPartnerBadges() {
-        Log.d("PartnerBadges", "Loading badges for partner: " + partnerId);
-
-        db.collection("userBadges")
-                .whereEqualTo("userId", partnerId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    partnerUnlockedBadges.clear();
-                    Log.d("PartnerBadges", "Found " + querySnapshot.size() + " partner badges");
-
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : querySnapshot) {
-                        String badgeId = doc.getString("badgeId");
-                        if (badgeId != null) {
-                            partnerUnlockedBadges.add(badgeId);
-                            Log.d("PartnerBadges", "Partner unlocked badge: " + badgeId);
-                        }
-                    }
-                    updateStatsAndDisplayBadges();
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("PartnerBadges", "Error loading partner badges", e);
-                    updateStatsAndDisplayBadges(); // Show badges anyway, just all locked
-                });
-    }
-
     private void updateStatsAndDisplayBadges() {
         // Update summary stats
-        int totalBadges = BadgeSystem.BADGES.size();
-        int earnedBadges = partnerUnlockedBadges.size();
+        int totalBadges = BadgeSystem.count();
+        int earnedBadges = partnerUnlockedBadges.cardinality();
         int completionPercent = (int) ((float) earnedBadges / totalBadges * 100);
 
         updateStatValue("Badges Earned", String.valueOf(earnedBadges));
@@ -270,7 +257,7 @@ public class PartnerBadgesActivity extends AppCompatActivity {
 
         TextView messageText = new TextView(this);
         String message = partnerName + " has earned " + partnerUnlockedBadges.size() + " out of " +
-                BadgeSystem.BADGES.size() + " total achievements!\n\n" +
+                BadgeSystem.count() + " total achievements!\n\n" +
                 "💪 Keep challenging each other to unlock more badges together!";
         messageText.setText(message);
         messageText.setTextColor(0xFFE8BBE8);
@@ -282,16 +269,18 @@ public class PartnerBadgesActivity extends AppCompatActivity {
         mainLayout.addView(partnerMessageCard);
 
         // Display badge categories with partner's progress
-        createPartnerBadgeCategory("🏃 Speed Demon", getSpeedBadges(), "Fast completion mastery!");
-        createPartnerBadgeCategory("🎯 Category Master", getCategoryBadges(), "Dare variety expertise!");
-        createPartnerBadgeCategory("🔥 Streak Legend", getStreakBadges(), "Consistency champion!");
-        createPartnerBadgeCategory("💝 Power Couple", getPartnershipBadges(), "Teamwork achievements!");
-        createPartnerBadgeCategory("🏆 Competition King/Queen", getCompetitionBadges(), "Monthly competition prowess!");
-        createPartnerBadgeCategory("💎 Milestone Master", getMilestoneBadges(), "Point accumulation skills!");
-        createPartnerBadgeCategory("🎲 Special Achiever", getSpecialBadges(), "Unique accomplishments!");
+        createPartnerBadgeCategory("🏃 Speed Demon", BadgeSystem.Section.SPEED, "Fast completion mastery!");
+        createPartnerBadgeCategory("🎯 Category Master", BadgeSystem.Section.CATEGORY, "Dare variety expertise!");
+        createPartnerBadgeCategory("🔥 Streak Legend", BadgeSystem.Section.STREAK, "Consistency champion!");
+        createPartnerBadgeCategory("💝 Power Couple", BadgeSystem.Section.PARTNERSHIP, "Teamwork achievements!");
+        createPartnerBadgeCategory("🏆 Competition King/Queen", BadgeSystem.Section.COMPETITION, "Monthly competition prowess!");
+        createPartnerBadgeCategory("💎 Milestone Master", BadgeSystem.Section.MILESTONE, "Point accumulation skills!");
+        createPartnerBadgeCategory("🎲 Special Achiever", BadgeSystem.Section.SPECIAL, "Unique accomplishments!");
             }
 
-    private void createPartnerBadgeCategory(String categoryName, List<String> badgeIds, String description) {
+    private void createPartnerBadgeCategory(String categoryName, BadgeSystem.Section section, String description) {
+        List<BadgeSystem.Badge> badges = BadgeSystem.badgesIn(section);
+
         LinearLayout categoryCard = new LinearLayout(this);
         categoryCard.setOrientation(LinearLayout.VERTICAL);
         categoryCard.setPadding(24, 20, 24, 20);
@@ -325,16 +314,16 @@ public class PartnerBadgesActivity extends AppCompatActivity {
 
         // Calculate partner's progress
         int unlockedCount = 0;
-        for (String badgeId : badgeIds) {
-            if (partnerUnlockedBadges.contains(badgeId)) {
+        for (BadgeSystem.Badge badge : badges) {
+            if (partnerUnlockedBadges.get(badge.ordinal)) {
                 unlockedCount++;
             }
         }
 
         // Premium progress display
         TextView progressText = new TextView(this);
-        String progressStr = partnerName + " earned " + unlockedCount + " / " + badgeIds.size();
-        if (unlockedCount == badgeIds.size()) {
+        String progressStr = partnerName + " earned " + unlockedCount + " / " + badges.size();
+        if (unlockedCount == badges.size()) {
             progressStr += " 🎉 MASTERED! 🎉";
             progressText.setTextColor(0xFFFFD700); // Gold for completion
         } else if (unlockedCount > 0) {
@@ -357,13 +346,13 @@ public class PartnerBadgesActivity extends AppCompatActivity {
         progressBarContainer.setGravity(Gravity.CENTER);
         progressBarContainer.setPadding(0, 0, 0, 16);
 
-        for (int i = 0; i < badgeIds.size(); i++) {
+        for (int i = 0; i < badges.size(); i++) {
             TextView progressBlock = new TextView(this);
             progressBlock.setText("●");
             progressBlock.setTextSize(20);
 
             if (i < unlockedCount) {
-                if (unlockedCount == badgeIds.size()) {
+                if (unlockedCount == badges.size()) {
                     progressBlock.setTextColor(0xFFFFD700); // Gold when complete
                 } else {
                     progressBlock.setTextColor(0xFF4CAF50); // Green for earned
@@ -381,19 +370,36 @@ public class PartnerBadgesActivity extends AppCompatActivity {
         categoryCard.addView(progressBarContainer);
 
         // Show earned badges in this category
-        for (String badgeId : badgeIds) {
-            if (partnerUnlockedBadges.contains(badgeId)) {
-                createPartnerBadgeRow(categoryCard, badgeId);
+        BadgeSystem.Badge nextUp = null;
+        for (BadgeSystem.Badge badge : badges) {
+            if (partnerUnlockedBadges.get(badge.ordinal)) {
+                createPartnerBadgeRow(categoryCard, badge);
+            } else if (partnerProgress.isMeasured(badge) && (nextUp == null || fractionDone(badge) > fractionDone(nextUp))) {
+                nextUp = badge;
             }
         }
 
+        // ...and the one they're closest to
+        if (nextUp != null && partnerProgress.getCurrent(nextUp) > 0) {
+            TextView nextUpText = new TextView(this);
+            nextUpText.setText("🎯 Next up: " + nextUp.emoji + " " + nextUp.name + " - "
+                    + partnerProgress.getCurrent(nextUp) + " / " + partnerProgress.getRequired(nextUp));
+            nextUpText.setTextColor(0xFFBB86FC);
+            nextUpText.setTextSize(12);
+            nextUpText.setTypeface(null, android.graphics.Typeface.BOLD);
+            nextUpText.setGravity(Gravity.CENTER);
+            nextUpText.setPadding(0, 8, 0, 0);
+            categoryCard.addView(nextUpText);
+        }
+
         mainLayout.addView(categoryCard);
     }
 
-    private void createPartnerBadgeRow(LinearLayout parent, String badgeId) {
-        BadgeSystem.Badge badge = BadgeSystem.BADGES.get(badgeId);
-        if (badge == null) return;
+    private float fractionDone(BadgeSystem.Badge badge) {
+        return (float) partnerProgress.getCurrent(badge) / Math.max(1, partnerProgress.getRequired(badge));
+    }
 
+    private void createPartnerBadgeRow(LinearLayout parent, BadgeSystem.Badge badge) {
         LinearLayout badgeRow = new LinearLayout(this);
         badgeRow.setOrientation(LinearLayout.HORIZONTAL);
         badgeRow.setPadding(16, 12, 16, 12);
@@ -485,81 +491,4 @@ public class PartnerBadgesActivity extends AppCompatActivity {
         noPartnerCard.addView(noPartnerDesc);
         mainLayout.addView(noPartnerCard);
     }
-
-    // Badge category methods (same as BadgesActivity)
-    private List<String> getSpeedBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("lightning_lover");
-        badges.add("flash_forward");
-        badges.add("speed_racer");
-        badges.add("instant_gratification");
-        return badges;
-    }
-
-    private List<String> getCategoryBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("sweet_soul");
-        badges.add("playful_spirit");
-        badges.add("adventure_seeker");
-        badges.add("passionate_heart");
-        badges.add("wild_one");
-        badges.add("renaissance_lover");
-        return badges;
-    }
-
-    private List<String> getStreakBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("warm_up");
-        badges.add("getting_hot");
-        badges.add("on_fire");
-        badges.add("blazing");
-        badges.add("inferno");
-        return badges;
-    }
-
-    private List<String> getPartnershipBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("perfect_match");
-        badges.add("synchronized_souls");
-        badges.add("power_couple");
-        badges.add("dynamic_duo");
-        return badges;
-    }
-
-    private List<String> getCompetitionBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("monthly_champion");
-        badges.add("close_call");
-        badges.add("comeback_kid");
-        badges.add("dominator");
-        badges.add("competitive_spirit");
-        badges.add("hat_trick");
-        badges.add("rivalry_master");
-        badges.add("final_hour");
-        badges.add("early_bird_winner");
-        badges.add("photo_finish");
-        return badges;
-    }
-
-    private List<String> getMilestoneBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("first_steps");
-        badges.add("getting_started");
-        badges.add("point_collector");
-        badges.add("point_master");
-        badges.add("point_legend");
-        return badges;
-    }
-
-    private List<String> getSpecialBadges() {
-        List<String> badges = new ArrayList<>();
-        badges.add("generous_giver");
-        badges.add("dare_devil");
-        badges.add("night_owl");
-        badges.add("early_bird");
-        badges.add("weekend_warrior");
-        badges.add("code_breaker");     // MOVED FROM SECRET
-        badges.add("second_chance");    // MOVED FROM SECRET
-        return badges;
-    }
 }
\ No newline at end of file
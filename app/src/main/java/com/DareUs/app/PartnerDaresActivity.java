@@ -11,7 +11,9 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.DocumentSnapshot;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class PartnerDaresActivity extends AppCompatActivity {
@@ -26,6 +28,7 @@ public class PartnerDaresActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "partner_dares");
 
         // Initialize Firebase
         mAuth = FirebaseAuth.getInstance();
@@ -95,21 +98,29 @@ public class PartnerDaresActivity extends AppCompatActivity {
     private void loadPartnerCompletedDares() {
         Log.d("PartnerDares", "Loading partner completed dares for user: " + currentUser.getUid());
 
-        db.collection("dares")
+        BackgroundTasks.parse(db.collection("dares")
                 .whereEqualTo("fromUserId", currentUser.getUid()) // Dares I sent to partner
                 .whereEqualTo("status", "completed")
                 .orderBy("completedAt", com.google.firebase.firestore.Query.Direction.DESCENDING)
                 .limit(20)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    Log.d("PartnerDares", "Query successful. Found " + queryDocumentSnapshots.size() + " completed dares");
+                .get(), snapshot -> {
+                    // Decoded on the background pool - the cards only read the fields
+                    long now = System.currentTimeMillis();
+                    List<Dare> dares = new ArrayList<>();
+                    for (DocumentSnapshot document : snapshot.getDocuments()) {
+                        dares.add(Dare.from(document, now));
+                    }
+                    return dares;
+                })
+                .addOnSuccessListener(dares -> {
+                    Log.d("PartnerDares", "Query successful. Found " + dares.size() + " completed dares");
 
-                    if (queryDocumentSnapshots.isEmpty()) {
+                    if (dares.isEmpty()) {
                         showNoDares();
                     } else {
-                        for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                            Log.d("PartnerDares", "Processing dare: " + document.getId());
-                            createPartnerDareCard(document);
+                        for (Dare dare : dares) {
+                            Log.d("PartnerDares", "Processing dare: " + dare.id);
+                            createPartnerDareCard(dare);
                         }
                     }
                 })
@@ -119,14 +130,9 @@ public class PartnerDaresActivity extends AppCompatActivity {
                 });
     }
 
-    private void createPartnerDareCard(QueryDocumentSnapshot document) {
+    private void createPartnerDareCard(Dare dare) {
         try {
-            String dareText = document.getString("dareText");
-            String category = document.getString("category");
-            Long completedAt = document.getLong("completedAt");
-            Long earnedPoints = document.getLong("earnedPoints");
-
-            Log.d("PartnerDares", "Creating card for dare: " + dareText + ", category: " + category);
+            Log.d("PartnerDares", "Creating card for dare: " + dare.dareText + ", category: " + dare.category);
 
             LinearLayout dareCard = new LinearLayout(this);
             dareCard.setOrientation(LinearLayout.VERTICAL);
@@ -142,7 +148,7 @@ public class PartnerDaresActivity extends AppCompatActivity {
 
             // Category badge
             TextView categoryText = new TextView(this);
-            categoryText.setText(category != null ? category.toUpperCase() : "UNKNOWN");
+            categoryText.setText(dare.category.toUpperCase());
             categoryText.setBackgroundColor(0xFF4CAF50);
             categoryText.setTextColor(0xFFFFFFFF);
             categoryText.setPadding(8, 4, 8, 4);
@@ -152,7 +158,7 @@ public class PartnerDaresActivity extends AppCompatActivity {
 
             // Dare text
             TextView dareTextView = new TextView(this);
-            dareTextView.setText(dareText);
+            dareTextView.setText(dare.dareText);
             dareTextView.setTextColor(0xFFBBBBBB); // Grayed out since completed
             dareTextView.setTextSize(16);
             dareTextView.setGravity(Gravity.CENTER);
@@ -160,8 +166,8 @@ public class PartnerDaresActivity extends AppCompatActivity {
 
             // Completion info
             TextView completionInfo = new TextView(this);
-            if (completedAt != null) {
-                long daysAgo = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - completedAt);
+            if (dare.completedAt != 0) {
+                long daysAgo = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - dare.completedAt);
                 String timeText;
                 if (daysAgo == 0) {
                     timeText = "✅ Completed today";
@@ -171,8 +177,8 @@ public class PartnerDaresActivity extends AppCompatActivity {
                     timeText = "✅ Completed " + daysAgo + " days ago";
                 }
 
-                if (earnedPoints != null) {
-                    timeText += " • Earned " + earnedPoints + " points";
+                if (dare.earnedPoints > 0) {
+                    timeText += " • Earned " + dare.earnedPoints + " points";
                 }
 
                 completionInfo.setText(timeText);
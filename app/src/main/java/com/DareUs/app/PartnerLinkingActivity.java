@@ -48,7 +48,7 @@ public class PartnerLinkingActivity extends AppCompatActivity implements BadgeTr
         }
 
         // Initialize badge tracker
-        badgeTracker = new BadgeTracker(currentUser.getUid(), this);
+        badgeTracker = new BadgeTracker(this, currentUser.getUid(), this);
 
         // Initialize views
         textViewWelcome = findViewById(R.id.textViewWelcome);
@@ -79,6 +79,18 @@ public class PartnerLinkingActivity extends AppCompatActivity implements BadgeTr
         }
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (badgeTracker != null) badgeTracker.start();
+    }
+
+    @Override
+    protected void onStop() {
+        if (badgeTracker != null) badgeTracker.stop();
+        super.onStop();
+    }
+
     @Override
     public void onBadgeUnlocked(String badgeId, BadgeSystem.Badge badge) {
         // Show EPIC badge celebration dialog!
@@ -0,0 +1,89 @@
+package com.DareUs.app;
+
+import android.util.Log;
+import com.google.firebase.firestore.FirebaseFirestore;
+import java.util.HashMap;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A push to the partner that rides along with a queued dare action. DareActionQueue keeps
+ * it in the action's payload and only sends it once the write is on the server, so the
+ * partner never hears about a dare or an offer that was refused or is still offline.
+ */
+public class PartnerNotice {
+
+    private static final String TAG = "PartnerNotice";
+
+    final String toUserId;
+    final String title;
+    final String body;
+    // Body goes after the sender's first name, looked up when it's sent
+    final boolean fromSender;
+
+    public PartnerNotice(String toUserId, String title, String body) {
+        this(toUserId, title, body, false);
+    }
+
+    public static PartnerNotice fromSender(String toUserId, String title, String body) {
+        return new PartnerNotice(toUserId, title, body, true);
+    }
+
+    private PartnerNotice(String toUserId, String title, String body, boolean fromSender) {
+        this.toUserId = toUserId;
+        this.title = title;
+        this.body = body;
+        this.fromSender = fromSender;
+    }
+
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("to", toUserId);
+        json.put("title", title);
+        json.put("body", body);
+        json.put("fromSender", fromSender);
+        return json;
+    }
+
+    // Null when the action didn't have one
+    static PartnerNotice fromJson(JSONObject json) throws JSONException {
+        if (json == null) return null;
+        return new PartnerNotice(json.getString("to"), json.getString("title"), json.getString("body"),
+                json.optBoolean("fromSender"));
+    }
+
+    // Queues it in notifications for sendQueuedNotifications - nothing to do if the partner has no token
+    void send(FirebaseFirestore db, String senderId) {
+        if (!fromSender) {
+            sendTo(db, body);
+            return;
+        }
+        db.collection("dareus").document(senderId).get()
+                .addOnSuccessListener(myDoc -> {
+                    String myName = myDoc.getString("firstName");
+                    sendTo(db, (myName != null ? myName : "Your partner") + " " + body);
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to get user data", e));
+    }
+
+    private void sendTo(FirebaseFirestore db, String text) {
+        db.collection("dareus").document(toUserId).get()
+                .addOnSuccessListener(partnerDoc -> {
+                    String partnerToken = partnerDoc.getString("fcmToken");
+                    if (partnerToken == null) return;
+
+                    Map<String, Object> notif = new HashMap<>();
+                    notif.put("toToken", partnerToken);
+                    notif.put("title", title);
+                    notif.put("body", text);
+                    notif.put("timestamp", System.currentTimeMillis());
+                    notif.put("sent", false);
+
+                    db.collection("notifications").add(notif)
+                            .addOnSuccessListener(doc -> Log.d(TAG, "🔔 Notification queued: " + title))
+                            .addOnFailureListener(e -> Log.e(TAG, "Failed to queue notification", e));
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to get partner data", e));
+    }
+}
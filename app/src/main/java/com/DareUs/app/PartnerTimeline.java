@@ -0,0 +1,95 @@
+package com.DareUs.app;
+
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Both partners' completion times side by side, for Perfect Match (same day) and
+ * Synchronized Souls (within an hour).
+ *
+ * A pair is credited to whoever completes second - the partner's completion has to be at
+ * or before mine - which is what the live check can see at completion time. Both lists are
+ * sorted oldest first, so matching is a single merge-join: each pointer only moves forward.
+ */
+public class PartnerTimeline {
+
+    public static final long SYNC_WINDOW = 60 * 60 * 1000L;
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final TimeZone timeZone;
+
+    private int sameDayPairs;
+    private int synchronizedPairs;
+
+    public PartnerTimeline(TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * Bulk count over full histories (seeding and recomputation). Linear in both lists.
+     */
+    public void merge(List<Long> mine, List<Long> partner) {
+        sameDayPairs = 0;
+        synchronizedPairs = 0;
+
+        int p = 0;
+        long latestPartner = Long.MIN_VALUE;
+        for (long myTime : mine) {
+            // Advance over every partner completion at or before mine
+            while (p < partner.size() && partner.get(p) <= myTime) {
+                latestPartner = partner.get(p);
+                p++;
+            }
+            if (latestPartner == Long.MIN_VALUE) continue;
+
+            // The latest earlier completion is the closest one, so it decides both checks
+            if (dayOf(latestPartner) == dayOf(myTime)) sameDayPairs++;
+            if (myTime - latestPartner <= SYNC_WINDOW) synchronizedPairs++;
+        }
+    }
+
+    /**
+     * One new completion against the partner's recent completions (oldest first, e.g.
+     * their badgeStats ring). Returns which counters it adds to.
+     */
+    public Match add(long myCompletedAt, List<Long> partnerRecent) {
+        // Newest partner completion at or before mine - walk back from the end of the ring
+        long latestPartner = Long.MIN_VALUE;
+        for (int i = partnerRecent.size() - 1; i >= 0; i--) {
+            if (partnerRecent.get(i) <= myCompletedAt) {
+                latestPartner = partnerRecent.get(i);
+                break;
+            }
+        }
+
+        boolean sameDay = latestPartner != Long.MIN_VALUE && dayOf(latestPartner) == dayOf(myCompletedAt);
+        boolean synced = latestPartner != Long.MIN_VALUE && myCompletedAt - latestPartner <= SYNC_WINDOW;
+        if (sameDay) sameDayPairs++;
+        if (synced) synchronizedPairs++;
+        return new Match(sameDay, synced);
+    }
+
+    public int getSameDayPairs() {
+        return sameDayPairs;
+    }
+
+    public int getSynchronizedPairs() {
+        return synchronizedPairs;
+    }
+
+    // Local calendar day number, so "same day" means the same date on the user's phone
+    private long dayOf(long time) {
+        return Math.floorDiv(time + timeZone.getOffset(time), DAY_MILLIS);
+    }
+
+    public static class Match {
+        public final boolean sameDay;
+        public final boolean synced;
+
+        Match(boolean sameDay, boolean synced) {
+            this.sameDay = sameDay;
+            this.synced = synced;
+        }
+    }
+}
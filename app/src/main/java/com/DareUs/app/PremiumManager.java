@@ -149,23 +149,22 @@ public class PremiumManager {
 
         Log.d("PremiumManager", "Checking usage since: " + new java.util.Date(weekStart));
 
-        db.collection("dares")
-                .whereEqualTo("fromUserId", userId)
-                .whereGreaterThan("sentAt", weekStart)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+        // Local ledger if it's running, else count from Firestore
+        DareLedger ledger = DareLedger.running(userId);
+        (ledger != null ? ledger.sentCountsSince(weekStart) : DareLedger.querySentCounts(db, userId, weekStart))
+                .addOnSuccessListener(counts -> {
                     int sweetCount = 0;
                     int playfulCount = 0;
                     int otherCount = 0;
 
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : querySnapshot) {
-                        String dareCategory = doc.getString("category");
+                    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                        String dareCategory = entry.getKey();
                         if ("Sweet".equals(dareCategory)) {
-                            sweetCount++;
+                            sweetCount += entry.getValue();
                         } else if ("Playful".equals(dareCategory)) {
-                            playfulCount++;
+                            playfulCount += entry.getValue();
                         } else if (!"Custom".equals(dareCategory)) { // Don't count custom dares
-                            otherCount++;
+                            otherCount += entry.getValue();
                         }
                     }
 
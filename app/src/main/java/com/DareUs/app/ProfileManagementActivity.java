@@ -38,6 +38,7 @@ public class ProfileManagementActivity extends AppCompatActivity implements Badg
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "profile");
 
         // Initialize Firebase
         mAuth = FirebaseAuth.getInstance();
@@ -51,7 +52,7 @@ public class ProfileManagementActivity extends AppCompatActivity implements Badg
         }
 
         // Initialize badge tracker
-        badgeTracker = new BadgeTracker(currentUser.getUid(), this);
+        badgeTracker = new BadgeTracker(this, currentUser.getUid(), this);
 
         // Initialize premium manager
         premiumManager = new PremiumManager(currentUser.getUid(), new PremiumManager.PremiumStatusListener() {
@@ -71,6 +72,18 @@ public class ProfileManagementActivity extends AppCompatActivity implements Badg
         loadPremiumExpirationData();
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (badgeTracker != null) badgeTracker.start();
+    }
+
+    @Override
+    protected void onStop() {
+        if (badgeTracker != null) badgeTracker.stop();
+        super.onStop();
+    }
+
     @Override
     public void onBadgeUnlocked(String badgeId, BadgeSystem.Badge badge) {
         // Show EPIC badge celebration dialog!
@@ -0,0 +1,139 @@
+package com.DareUs.app;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RadialGradient;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+
+/**
+ * The leaderboard's month progress bar - a row of segments, the filled run going
+ * green -> yellow -> pink, each filled segment with a soft glow behind it.
+ *
+ * Drawn straight onto the canvas with one Paint. The glows are one radial gradient per
+ * colour, built when the size changes and moved into place with a matrix, so drawing a
+ * frame allocates nothing. setProgress animates between values without touching the
+ * view tree.
+ */
+public class ProgressGlowView extends View {
+
+    public static final int SEGMENTS = 20;
+
+    private static final int EMPTY_COLOR = 0x40FFFFFF;
+    private static final int[] COLORS = {0xFF4CAF50, 0xFFFFEB3B, 0xFFFF6B9D};
+    private static final long ANIMATION_MS = 600;
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF segment = new RectF();
+    private final Matrix glowMatrix = new Matrix();
+    private final RadialGradient[] glows = new RadialGradient[COLORS.length];
+    private final float density;
+
+    private float glowRadius;
+    private float shown; // filled segments, fractional mid-animation
+    private ValueAnimator animator;
+
+    public ProgressGlowView(Context context) {
+        super(context);
+        density = context.getResources().getDisplayMetrics().density;
+    }
+
+    public void setProgress(int filled, boolean animate) {
+        float target = Math.max(0, Math.min(SEGMENTS, filled));
+        if (animator != null) animator.cancel();
+
+        if (!animate || target == shown) {
+            shown = target;
+            invalidate();
+            return;
+        }
+
+        animator = ValueAnimator.ofFloat(shown, target);
+        animator.setDuration(ANIMATION_MS);
+        animator.setInterpolator(new DecelerateInterpolator());
+        animator.addUpdateListener(animation -> {
+            shown = (float) animation.getAnimatedValue();
+            invalidate();
+        });
+        animator.start();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = resolveSize(Math.round(SEGMENTS * 12 * density), widthMeasureSpec);
+        int height = resolveSize(Math.round(24 * density), heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        // Glow reaches a bit past the segment on every side - about what the old text shadow did
+        glowRadius = (h - getPaddingTop() - getPaddingBottom()) / 2f;
+        for (int i = 0; i < COLORS.length; i++) {
+            glows[i] = new RadialGradient(0, 0, glowRadius,
+                    new int[]{(COLORS[i] & 0x00FFFFFF) | 0x90000000, COLORS[i] & 0x00FFFFFF},
+                    null, Shader.TileMode.CLAMP);
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        float inset = glowRadius / 3;
+        float left = getPaddingLeft() + inset;
+        float top = getPaddingTop() + inset;
+        float bottom = getHeight() - getPaddingBottom() - inset;
+        float gap = 2 * density;
+        float width = (getWidth() - getPaddingRight() - inset - left - gap * (SEGMENTS - 1)) / SEGMENTS;
+        float corner = Math.min(width, bottom - top) / 4;
+        float centerY = (top + bottom) / 2;
+
+        // Glows first so no segment gets painted over by its neighbour's glow
+        int lit = (int) Math.ceil(shown);
+        for (int i = 0; i < lit; i++) {
+            RadialGradient glow = glows[band(i)];
+            float centerX = left + i * (width + gap) + width / 2;
+            glowMatrix.setTranslate(centerX, centerY);
+            glow.setLocalMatrix(glowMatrix);
+            paint.setShader(glow);
+            paint.setAlpha(Math.round(255 * Math.min(1f, shown - i)));
+            canvas.drawCircle(centerX, centerY, glowRadius, paint);
+        }
+        paint.setShader(null);
+
+        for (int i = 0; i < SEGMENTS; i++) {
+            float x = left + i * (width + gap);
+            segment.set(x, top, x + width, bottom);
+
+            float fill = Math.max(0f, Math.min(1f, shown - i));
+            if (fill < 1f) {
+                paint.setColor(EMPTY_COLOR);
+                canvas.drawRoundRect(segment, corner, corner, paint);
+            }
+            if (fill > 0f) {
+                // The segment being filled fades in rather than popping
+                paint.setColor(COLORS[band(i)]);
+                paint.setAlpha(Math.round(255 * fill));
+                canvas.drawRoundRect(segment, corner, corner, paint);
+            }
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        if (animator != null) animator.cancel();
+        super.onDetachedFromWindow();
+    }
+
+    // Oldest part of the run green, the middle yellow, the most recent days pink
+    private int band(int index) {
+        if (index < shown * 0.3f) return 0;
+        if (index < shown * 0.7f) return 1;
+        return 2;
+    }
+}
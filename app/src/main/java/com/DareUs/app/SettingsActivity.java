@@ -19,6 +19,7 @@ public class SettingsActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        BadgeTracker.recordScreenVisit(this, "settings");
 
         mAuth = FirebaseAuth.getInstance();
         currentUser = mAuth.getCurrentUser();
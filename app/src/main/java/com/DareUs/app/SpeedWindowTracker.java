@@ -0,0 +1,205 @@
+package com.DareUs.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Best 24h / 48h completion counts for the speed badges (Lightning Lover, Instant Gratification).
+ *
+ * Keeps a small ring of the newest completion times plus the best count seen so far for each
+ * window. A new completion only moves each window's left pointer forward, so an update is O(1)
+ * amortized and never needs the dare history. Counts from incremental updates top out at the
+ * ring capacity, which is the biggest requirement any speed badge has.
+ */
+public class SpeedWindowTracker {
+
+    public static final long WINDOW_24H = 24 * 60 * 60 * 1000L;
+    public static final long WINDOW_48H = 48 * 60 * 60 * 1000L;
+
+    // Instant Gratification needs 15 in 48h - nothing needs more history than that
+    public static final int CAPACITY = 15;
+
+    private final long[] ring = new long[CAPACITY];
+    private int head;   // index of the oldest entry
+    private int size;
+
+    // Left pointers, as offsets from the oldest entry in the ring
+    private int left24;
+    private int left48;
+
+    private int max24h;
+    private int max48h;
+
+    public SpeedWindowTracker() {
+    }
+
+    /**
+     * Restore from the badgeStats map. Pointers aren't stored - they're re-derived from the ring.
+     */
+    @SuppressWarnings("unchecked")
+    public static SpeedWindowTracker fromMap(Map<String, Object> map) {
+        SpeedWindowTracker tracker = new SpeedWindowTracker();
+        if (map == null) return tracker;
+
+        Object recent = map.get("recentCompletions");
+        if (recent instanceof List) {
+            List<Long> times = new ArrayList<>();
+            for (Object time : (List<Object>) recent) {
+                if (time instanceof Number) {
+                    times.add(((Number) time).longValue());
+                }
+            }
+            long[] sorted = new long[times.size()];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = times.get(i);
+            Arrays.sort(sorted);
+            // Only the newest CAPACITY matter
+            for (int i = Math.max(0, sorted.length - CAPACITY); i < sorted.length; i++) {
+                tracker.push(sorted[i]);
+            }
+            tracker.left24 = tracker.leftFor(WINDOW_24H);
+            tracker.left48 = tracker.leftFor(WINDOW_48H);
+        }
+
+        tracker.max24h = Math.max(asInt(map.get("max24h")), tracker.size - tracker.left24);
+        tracker.max48h = Math.max(asInt(map.get("max48h")), tracker.size - tracker.left48);
+        return tracker;
+    }
+
+    public void writeTo(Map<String, Object> map) {
+        map.put("recentCompletions", getRecentCompletions());
+        map.put("max24h", max24h);
+        map.put("max48h", max48h);
+    }
+
+    /**
+     * Record one completion. Completions arrive in time order in practice; a late
+     * out-of-order one is slotted in and the pointers re-derived (ring is tiny).
+     */
+    public void add(long completedAt) {
+        if (size > 0 && completedAt < get(size - 1)) {
+            insertOutOfOrder(completedAt);
+            return;
+        }
+
+        boolean evicted = push(completedAt);
+        if (evicted) {
+            left24 = Math.max(0, left24 - 1);
+            left48 = Math.max(0, left48 - 1);
+        }
+
+        // Two-pointer step: only move each left edge forward
+        while (completedAt - get(left24) > WINDOW_24H) left24++;
+        while (completedAt - get(left48) > WINDOW_48H) left48++;
+
+        max24h = Math.max(max24h, size - left24);
+        max48h = Math.max(max48h, size - left48);
+    }
+
+    /**
+     * Bulk mode for existing users: one linear two-pointer sweep over the full history
+     * (sorted oldest first). Maxima here are exact, not capped at the ring size.
+     */
+    public void rebuild(List<Long> sortedTimes) {
+        head = 0;
+        size = 0;
+        max24h = 0;
+        max48h = 0;
+
+        int l24 = 0;
+        int l48 = 0;
+        for (int r = 0; r < sortedTimes.size(); r++) {
+            long time = sortedTimes.get(r);
+            while (time - sortedTimes.get(l24) > WINDOW_24H) l24++;
+            while (time - sortedTimes.get(l48) > WINDOW_48H) l48++;
+            max24h = Math.max(max24h, r - l24 + 1);
+            max48h = Math.max(max48h, r - l48 + 1);
+        }
+
+        for (int i = Math.max(0, sortedTimes.size() - CAPACITY); i < sortedTimes.size(); i++) {
+            push(sortedTimes.get(i));
+        }
+        left24 = leftFor(WINDOW_24H);
+        left48 = leftFor(WINDOW_48H);
+    }
+
+    public int getMax24h() {
+        return max24h;
+    }
+
+    public int getMax48h() {
+        return max48h;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ring contents, oldest first.
+     */
+    public List<Long> getRecentCompletions() {
+        List<Long> times = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) times.add(get(i));
+        return times;
+    }
+
+    // ith entry counting from the oldest
+    public long get(int i) {
+        return ring[(head + i) % CAPACITY];
+    }
+
+    // Append at the newest end, returns true if the oldest entry fell off
+    private boolean push(long time) {
+        if (size < CAPACITY) {
+            ring[(head + size) % CAPACITY] = time;
+            size++;
+            return false;
+        }
+        ring[head] = time;
+        head = (head + 1) % CAPACITY;
+        return true;
+    }
+
+    private void insertOutOfOrder(long completedAt) {
+        List<Long> times = getRecentCompletions();
+        int index = times.size();
+        while (index > 0 && times.get(index - 1) > completedAt) index--;
+        times.add(index, completedAt);
+
+        head = 0;
+        size = 0;
+        for (int i = Math.max(0, times.size() - CAPACITY); i < times.size(); i++) {
+            push(times.get(i));
+        }
+
+        // The late entry can complete a window that ends at any later entry
+        for (int r = 0; r < size; r++) {
+            int count24 = 0;
+            int count48 = 0;
+            for (int l = r; l >= 0; l--) {
+                long gap = get(r) - get(l);
+                if (gap <= WINDOW_24H) count24++;
+                if (gap <= WINDOW_48H) count48++; else break;
+            }
+            max24h = Math.max(max24h, count24);
+            max48h = Math.max(max48h, count48);
+        }
+        left24 = leftFor(WINDOW_24H);
+        left48 = leftFor(WINDOW_48H);
+    }
+
+    // Left edge of the window ending at the newest entry
+    private int leftFor(long windowMillis) {
+        if (size == 0) return 0;
+        long newest = get(size - 1);
+        int left = 0;
+        while (newest - get(left) > windowMillis) left++;
+        return left;
+    }
+
+    private static int asInt(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
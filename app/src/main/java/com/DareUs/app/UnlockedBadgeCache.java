@@ -0,0 +1,147 @@
+package com.DareUs.app;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which badges the user already has, as a bitmask indexed by BadgeSystem ordinal.
+ *
+ * Loaded from SharedPreferences straight away, then kept in sync with the user doc's
+ * unlockedBadges through one snapshot listener per user - attached while at least one
+ * screen holding a BadgeTracker is started (acquire / release from onStart / onStop).
+ * Lets BadgeTracker skip the awardBadgeBonus call for badges that are already owned;
+ * a stale answer in between only costs a call the server dedupes.
+ */
+public class UnlockedBadgeCache {
+
+    private static final String TAG = "UnlockedBadgeCache";
+    private static final String PREFS = "unlocked_badges";
+
+    private static final Map<String, UnlockedBadgeCache> instances = new HashMap<>();
+
+    private final String userId;
+    private final SharedPreferences prefs;
+    private final long[] bits = new long[(BadgeSystem.count() + 63) / 64];
+
+    // Guarded by this
+    private int holders;
+    private ListenerRegistration registration;
+
+    public static synchronized UnlockedBadgeCache get(Context context, String userId) {
+        UnlockedBadgeCache cache = instances.get(userId);
+        if (cache == null) {
+            cache = new UnlockedBadgeCache(context.getApplicationContext(), userId);
+            instances.put(userId, cache);
+        }
+        return cache;
+    }
+
+    private UnlockedBadgeCache(Context appContext, String userId) {
+        this.userId = userId;
+        this.prefs = appContext.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        restore();
+    }
+
+    public synchronized boolean has(String badgeId) {
+        int ordinal = BadgeSystem.ordinalOf(badgeId);
+        if (ordinal < 0) return false;
+        return (bits[ordinal >>> 6] & (1L << (ordinal & 63))) != 0;
+    }
+
+    // Called as soon as the server confirms (or says it was already unlocked)
+    public synchronized void markUnlocked(String badgeId) {
+        int ordinal = BadgeSystem.ordinalOf(badgeId);
+        if (ordinal < 0 || has(badgeId)) return;
+        bits[ordinal >>> 6] |= 1L << (ordinal & 63);
+        persist();
+    }
+
+    public synchronized int count() {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+
+    // A started screen wants live answers - the first one attaches the listener
+    public synchronized void acquire() {
+        if (holders++ == 0) listen();
+    }
+
+    // Its matching stop - the last one out detaches it
+    public synchronized void release() {
+        if (holders == 0) return;
+        if (--holders == 0 && registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    private void listen() {
+        registration = FirebaseFirestore.getInstance()
+                .collection("dareus").document(userId)
+                .addSnapshotListener(BackgroundTasks.background(), (doc, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Listener error", e);
+                        return;
+                    }
+                    if (doc == null || !doc.exists()) return;
+
+                    List<?> unlocked = (List<?>) doc.get("unlockedBadges");
+                    hydrate(unlocked);
+                });
+    }
+
+    // Server list is the source of truth - replace, don't merge
+    private synchronized void hydrate(List<?> unlocked) {
+        long[] fresh = new long[bits.length];
+        if (unlocked != null) {
+            for (Object badgeId : unlocked) {
+                int ordinal = badgeId instanceof String ? BadgeSystem.ordinalOf((String) badgeId) : -1;
+                if (ordinal >= 0) {
+                    fresh[ordinal >>> 6] |= 1L << (ordinal & 63);
+                }
+            }
+        }
+        System.arraycopy(fresh, 0, bits, 0, bits.length);
+        persist();
+    }
+
+    // Stored as "<badge count>:<word>,<word>..." - a changed badge count means the
+    // ordinals moved, so the stored bits are ignored until the listener refills them
+    private void restore() {
+        String stored = prefs.getString(userId, null);
+        if (stored == null) return;
+
+        String[] parts = stored.split(":");
+        if (parts.length != 2 || !parts[0].equals(String.valueOf(BadgeSystem.count()))) return;
+
+        String[] words = parts[1].split(",");
+        if (words.length != bits.length) return;
+        try {
+            for (int i = 0; i < words.length; i++) {
+                // BigInteger copes with the top bit set (parseUnsignedLong needs API 26)
+                bits[i] = new BigInteger(words[i], 16).longValue();
+            }
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Ignoring corrupt cache", e);
+            Arrays.fill(bits, 0);
+        }
+    }
+
+    private void persist() {
+        StringBuilder value = new StringBuilder().append(BadgeSystem.count()).append(':');
+        for (int i = 0; i < bits.length; i++) {
+            if (i > 0) value.append(',');
+            value.append(Long.toHexString(bits[i]));
+        }
+        prefs.edit().putString(userId, value.toString()).apply();
+    }
+}
@@ -0,0 +1,105 @@
+package com.DareUs.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Rough timing of the completed-list sort: Dare.sortKey against the old comparator, which
+ * went back to the raw fields on every compare (completedAt, falling back to sentAt, boxed
+ * Longs out of a map). Not a proper harness - best of several rounds after a warmup - but
+ * enough to show the gap and catch it if it ever closes.
+ */
+public class DareSortBenchmarkTest {
+
+    private static final int N = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 30;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    // What the inbox used to do with each snapshot, minus the snapshot
+    private static final Comparator<Map<String, Object>> BY_FIELDS = (a, b) -> {
+        Long timeA = (Long) a.get("completedAt");
+        Long timeB = (Long) b.get("completedAt");
+        if (timeA == null) timeA = (Long) a.get("sentAt");
+        if (timeB == null) timeB = (Long) b.get("sentAt");
+        if (timeA == null) timeA = 0L;
+        if (timeB == null) timeB = 0L;
+        return timeB.compareTo(timeA);
+    };
+
+    private static final Comparator<Dare> BY_SORT_KEY = (a, b) -> Long.compare(a.sortKey, b.sortKey);
+
+    @Test
+    public void sortKeyBeatsFieldLookups() {
+        Random random = new Random(11);
+        long now = 400 * DAY;
+        Dare[] dares = new Dare[N];
+        List<Map<String, Object>> fields = new ArrayList<>(N);
+        for (int i = 0; i < N; i++) {
+            long sentAt = (long) (random.nextDouble() * 365 * DAY);
+            // Some old docs never got a completedAt and sort by sentAt instead
+            long completedAt = random.nextInt(10) == 0 ? 0 : sentAt + (long) (random.nextDouble() * DAY);
+            dares[i] = new Dare("d" + i, "from", "to", "dare", "Sweet", Dare.Status.COMPLETED, false,
+                    5, 5, 5, 0, sentAt, sentAt + DAY, completedAt, 0, now);
+
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("id", dares[i].id);
+            doc.put("sentAt", sentAt);
+            if (completedAt != 0) doc.put("completedAt", completedAt);
+            fields.add(doc);
+        }
+
+        // Both orders agree before anything gets timed
+        Dare[] keyed = dares.clone();
+        Arrays.sort(keyed, BY_SORT_KEY);
+        List<Map<String, Object>> looked = new ArrayList<>(fields);
+        looked.sort(BY_FIELDS);
+        for (int i = 0; i < N; i++) {
+            assertEquals(keyed[i].sortKey, -sortTime(looked.get(i)));
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            timeSortKey(dares);
+            timeFieldLookups(fields);
+        }
+        long bestKeyed = Long.MAX_VALUE;
+        long bestLooked = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            bestKeyed = Math.min(bestKeyed, timeSortKey(dares));
+            bestLooked = Math.min(bestLooked, timeFieldLookups(fields));
+        }
+
+        System.out.println("📊 Sorting " + N + " dares: sortKey " + bestKeyed / 1000 + "us, field lookups "
+                + bestLooked / 1000 + "us");
+        assertTrue("sortKey sort took " + bestKeyed + "ns vs " + bestLooked + "ns with field lookups",
+                bestKeyed < bestLooked);
+    }
+
+    private static long timeSortKey(Dare[] dares) {
+        Dare[] copy = dares.clone();
+        long start = System.nanoTime();
+        Arrays.sort(copy, BY_SORT_KEY);
+        return System.nanoTime() - start;
+    }
+
+    private static long timeFieldLookups(List<Map<String, Object>> fields) {
+        List<Map<String, Object>> copy = new ArrayList<>(fields);
+        long start = System.nanoTime();
+        copy.sort(BY_FIELDS);
+        return System.nanoTime() - start;
+    }
+
+    private static long sortTime(Map<String, Object> doc) {
+        Object completedAt = doc.get("completedAt");
+        return (Long) (completedAt != null ? completedAt : doc.get("sentAt"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.DareUs.app;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class SpeedWindowTrackerTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Test
+    public void inOrderAddsMatchBruteForce() {
+        Random random = new Random(42);
+        SpeedWindowTracker tracker = new SpeedWindowTracker();
+        List<Long> times = new ArrayList<>();
+        long time = 0;
+        for (int i = 0; i < 200; i++) {
+            time += (long) (random.nextDouble() * 12 * HOUR);
+            addAndCheck(tracker, times, time);
+        }
+    }
+
+    @Test
+    public void evictionAtCapacityKeepsPointersInStep() {
+        SpeedWindowTracker tracker = new SpeedWindowTracker();
+        List<Long> times = new ArrayList<>();
+        // Every 4h - 7 per 24h, 13 per 48h, and 5 evicted off the front of the ring
+        for (int i = 0; i < SpeedWindowTracker.CAPACITY + 5; i++) {
+            addAndCheck(tracker, times, i * 4 * HOUR);
+        }
+        assertEquals(SpeedWindowTracker.CAPACITY, tracker.size());
+        assertEquals(times.subList(5, times.size()), tracker.getRecentCompletions());
+        assertEquals(7, tracker.getMax24h());
+        assertEquals(13, tracker.getMax48h());
+
+        // A burst after the wrap only beats the old maxima if the left edges moved with the evictions
+        long last = times.get(times.size() - 1);
+        for (int i = 1; i <= 6; i++) {
+            addAndCheck(tracker, times, last + i * HOUR);
+        }
+        assertEquals(11, tracker.getMax24h());
+    }
+
+    @Test
+    public void lateCompletionFillsAWindow() {
+        SpeedWindowTracker tracker = new SpeedWindowTracker();
+        tracker.add(0);
+        tracker.add(30 * HOUR);
+        assertEquals(1, tracker.getMax24h());
+        assertEquals(2, tracker.getMax48h());
+
+        // Arrives after the 30h one but belongs between them
+        tracker.add(10 * HOUR);
+        assertEquals(2, tracker.getMax24h());
+        assertEquals(3, tracker.getMax48h());
+        assertEquals(List.of(0L, 10 * HOUR, 30 * HOUR), tracker.getRecentCompletions());
+
+        // And the re-derived pointers carry on from there
+        tracker.add(31 * HOUR);
+        assertEquals(3, tracker.getMax24h());
+        assertEquals(4, tracker.getMax48h());
+    }
+
+    @Test
+    public void roundTripsThroughTheStatsMap() {
+        Random random = new Random(7);
+        SpeedWindowTracker tracker = new SpeedWindowTracker();
+        List<Long> times = new ArrayList<>();
+        long time = 0;
+        for (int i = 0; i < 40; i++) {
+            time += (long) (random.nextDouble() * 6 * HOUR);
+            addAndCheck(tracker, times, time);
+        }
+
+        Map<String, Object> map = new HashMap<>();
+        tracker.writeTo(map);
+        SpeedWindowTracker restored = SpeedWindowTracker.fromMap(map);
+
+        assertEquals(tracker.getRecentCompletions(), restored.getRecentCompletions());
+        assertEquals(tracker.getMax24h(), restored.getMax24h());
+        assertEquals(tracker.getMax48h(), restored.getMax48h());
+
+        // Restored pointers behave the same as the live ones
+        for (int i = 0; i < 40; i++) {
+            time += (long) (random.nextDouble() * 3 * HOUR);
+            addAndCheck(tracker, times, time);
+            restored.add(time);
+            assertEquals(tracker.getMax24h(), restored.getMax24h());
+            assertEquals(tracker.getMax48h(), restored.getMax48h());
+        }
+    }
+
+    private static void addAndCheck(SpeedWindowTracker tracker, List<Long> times, long time) {
+        times.add(time);
+        tracker.add(time);
+        assertEquals(bruteMax(times, SpeedWindowTracker.WINDOW_24H), tracker.getMax24h());
+        assertEquals(bruteMax(times, SpeedWindowTracker.WINDOW_48H), tracker.getMax48h());
+    }
+
+    // Every window over the full (sorted) history, capped like the ring's incremental counts
+    private static int bruteMax(List<Long> times, long window) {
+        int best = 0;
+        for (int r = 0; r < times.size(); r++) {
+            int count = 0;
+            for (int l = 0; l <= r; l++) {
+                if (times.get(r) - times.get(l) <= window) count++;
+            }
+            best = Math.max(best, count);
+        }
+        return Math.min(best, SpeedWindowTracker.CAPACITY);
+    }
+}
@@ -0,0 +1,152 @@
+package com.DareUs.backfill;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Offline badge recomputation. Loads every user, dare and competition, replays the app's
+ * badge rules for each user in parallel, and writes one JSON line per user whose badges
+ * don't match:
+ *
+ *   {"userId": "...", "award": ["hat_trick"], "revoke": ["speed_racer"]}
+ *
+ * Run after changing a threshold in BadgeSystem or fixing a rule. It only reports - applying
+ * the diff (awardBadges on the backend, or a manual revoke) is a separate, reviewed step.
+ *
+ *   ./gradlew :backfill:run --args="--dump export/ --out diff.jsonl"
+ *   ./gradlew :backfill:run --args="--emulator localhost:8080 --project dareus-dev"
+ *
+ * Options: --threads N (default: all cores), --timezone ID for day boundaries (default: system).
+ * Badges that depend on the user's local time are only ever awarded, since one zone can't
+ * stand in for every device (see UserReplay.LOCAL_TIME).
+ */
+public class BadgeBackfill {
+
+    public static void main(String[] args) throws Exception {
+        String dumpDir = null;
+        String emulatorHost = null;
+        String projectId = null;
+        String outFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        TimeZone timeZone = TimeZone.getDefault();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dump": dumpDir = args[++i]; break;
+                case "--emulator": emulatorHost = args[++i]; break;
+                case "--project": projectId = args[++i]; break;
+                case "--out": outFile = args[++i]; break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--timezone": timeZone = TimeZone.getTimeZone(args[++i]); break;
+                default:
+                    usage("Unknown option " + args[i]);
+            }
+        }
+        if ((dumpDir == null) == (emulatorHost == null)) usage("Give exactly one of --dump or --emulator");
+        if (emulatorHost != null && projectId == null) usage("--emulator needs --project");
+
+        long start = System.currentTimeMillis();
+        Dump dump = dumpDir != null
+                ? JsonLinesSource.load(Paths.get(dumpDir))
+                : EmulatorSource.load(emulatorHost, projectId);
+        log("Loaded %d users, %d dares, %d competitions in %dms",
+                dump.getUsers().size(), dump.getDareCount(), dump.getCompetitionCount(),
+                System.currentTimeMillis() - start);
+
+        SimpleDateFormat monthFormat = new SimpleDateFormat("yyyy-MM");
+        monthFormat.setTimeZone(timeZone);
+        UserReplay replay = new UserReplay(dump, timeZone, monthFormat.format(new Date()));
+
+        // One task per user - the dump is read-only from here, so users don't share state
+        AtomicInteger failures = new AtomicInteger();
+        long replayStart = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<BadgeDiff> diffs;
+        try {
+            diffs = pool.submit(() -> dump.getUsers().keySet().parallelStream()
+                    .map(userId -> {
+                        try {
+                            return replay.replay(userId);
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                            log("Failed %s: %s", userId, e);
+                            return null;
+                        }
+                    })
+                    .filter(Objects::nonNull)
+                    .filter(diff -> !diff.isEmpty())
+                    .collect(Collectors.toList())).get();
+        } finally {
+            pool.shutdown();
+        }
+        diffs = new ArrayList<>(diffs);
+        diffs.sort(Comparator.comparing(BadgeDiff::getUserId));
+
+        write(diffs, outFile);
+
+        int awards = 0;
+        int revokes = 0;
+        for (BadgeDiff diff : diffs) {
+            awards += diff.getAward().size();
+            revokes += diff.getRevoke().size();
+        }
+        log("Replayed %d users on %d threads in %dms: %d users differ, %d to award, %d to revoke, %d failed",
+                dump.getUsers().size(), threads, System.currentTimeMillis() - replayStart,
+                diffs.size(), awards, revokes, failures.get());
+    }
+
+    private static void write(List<BadgeDiff> diffs, String outFile) throws IOException {
+        Gson gson = new Gson();
+        Writer writer = outFile != null
+                ? Files.newBufferedWriter(Paths.get(outFile), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            for (BadgeDiff diff : diffs) {
+                JsonObject line = new JsonObject();
+                line.addProperty("userId", diff.getUserId());
+                line.add("award", toArray(diff.getAward()));
+                line.add("revoke", toArray(diff.getRevoke()));
+                writer.write(gson.toJson(line));
+                writer.write('\n');
+            }
+        } finally {
+            if (outFile != null) writer.close(); else writer.flush();
+        }
+    }
+
+    private static JsonArray toArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        for (String value : values) array.add(value);
+        return array;
+    }
+
+    // Progress goes to stderr so stdout stays pure JSON lines
+    private static void log(String format, Object... args) {
+        System.err.println(String.format(format, args));
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: BadgeBackfill (--dump DIR | --emulator HOST:PORT --project ID)"
+                + " [--out FILE] [--threads N] [--timezone ID]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.DareUs.backfill;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What has to change for one user: badges the rules now say they've earned but don't
+ * have, and badges they have that the rules no longer support.
+ */
+public class BadgeDiff {
+
+    final String userId;
+    final List<String> award;
+    final List<String> revoke;
+
+    private BadgeDiff(String userId, List<String> award, List<String> revoke) {
+        this.userId = userId;
+        this.award = award;
+        this.revoke = revoke;
+    }
+
+    static BadgeDiff between(String userId, Set<String> owned, Set<String> earned, Set<String> keep) {
+        List<String> award = new ArrayList<>();
+        for (String badgeId : earned) {
+            if (!owned.contains(badgeId)) award.add(badgeId);
+        }
+
+        List<String> revoke = new ArrayList<>();
+        for (String badgeId : owned) {
+            if (!earned.contains(badgeId) && !keep.contains(badgeId)) revoke.add(badgeId);
+        }
+        return new BadgeDiff(userId, award, revoke);
+    }
+
+    public boolean isEmpty() {
+        return award.isEmpty() && revoke.isEmpty();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public List<String> getAward() {
+        return award;
+    }
+
+    public List<String> getRevoke() {
+        return revoke;
+    }
+}
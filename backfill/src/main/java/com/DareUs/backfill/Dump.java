@@ -0,0 +1,112 @@
+package com.DareUs.backfill;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The three collections the badge rules depend on (dareus, dares, monthlyCompetitions),
+ * held as plain maps and indexed once by user / couple so each replay is a lookup.
+ */
+public class Dump {
+
+    public static final String USERS = "dareus";
+    public static final String DARES = "dares";
+    public static final String COMPETITIONS = "monthlyCompetitions";
+
+    private final Map<String, Map<String, Object>> users = new HashMap<>();
+    private final Map<String, List<Completion>> completedByUser = new HashMap<>();
+    private final Map<String, Integer> sentByUser = new HashMap<>();
+    private final Map<String, List<Map<String, Object>>> competitionsByCouple = new HashMap<>();
+
+    private int dareCount;
+    private int competitionCount;
+
+    // Not thread-safe - sources add everything before the replay starts
+    public void add(String collection, String id, Map<String, Object> data) {
+        switch (collection) {
+            case USERS:
+                users.put(id, data);
+                break;
+            case DARES:
+                dareCount++;
+                // Dares are most of the dump - keep only what the rules read
+                String toUserId = asString(data.get("toUserId"));
+                if (toUserId != null && "completed".equals(data.get("status")) && asLong(data.get("completedAt")) > 0) {
+                    Object sentAt = data.get("sentAt");
+                    completedByUser.computeIfAbsent(toUserId, k -> new ArrayList<>()).add(new Completion(
+                            asString(data.get("category")),
+                            sentAt instanceof Number ? ((Number) sentAt).longValue() : null,
+                            asLong(data.get("completedAt"))));
+                }
+                String fromUserId = asString(data.get("fromUserId"));
+                if (fromUserId != null) {
+                    sentByUser.merge(fromUserId, 1, Integer::sum);
+                }
+                break;
+            case COMPETITIONS:
+                competitionCount++;
+                String coupleId = asString(data.get("coupleId"));
+                if (coupleId != null) {
+                    competitionsByCouple.computeIfAbsent(coupleId, k -> new ArrayList<>()).add(data);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown collection: " + collection);
+        }
+    }
+
+    public Map<String, Map<String, Object>> getUsers() {
+        return users;
+    }
+
+    public Map<String, Object> getUser(String userId) {
+        return userId != null ? users.get(userId) : null;
+    }
+
+    public List<Completion> getCompletedDares(String userId) {
+        List<Completion> dares = completedByUser.get(userId);
+        return dares != null ? dares : Collections.<Completion>emptyList();
+    }
+
+    public int getSentCount(String userId) {
+        Integer count = sentByUser.get(userId);
+        return count != null ? count : 0;
+    }
+
+    public List<Map<String, Object>> getCompetitions(String coupleId) {
+        List<Map<String, Object>> competitions = competitionsByCouple.get(coupleId);
+        return competitions != null ? competitions : Collections.<Map<String, Object>>emptyList();
+    }
+
+    public int getDareCount() {
+        return dareCount;
+    }
+
+    public int getCompetitionCount() {
+        return competitionCount;
+    }
+
+    public static class Completion {
+        final String category;
+        final Long sentAt;
+        final long completedAt;
+
+        Completion(String category, Long sentAt, long completedAt) {
+            // Categories repeat millions of times - share the strings
+            this.category = category != null ? category.intern() : null;
+            this.sentAt = sentAt;
+            this.completedAt = completedAt;
+        }
+    }
+
+    static long asLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    static String asString(Object value) {
+        return value instanceof String && !((String) value).isEmpty() ? (String) value : null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.DareUs.backfill;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages the three collections out of a running Firestore emulator over its REST API.
+ * Uses the emulator's "Bearer owner" token, so security rules don't get in the way.
+ */
+public class EmulatorSource {
+
+    private static final int PAGE_SIZE = 1000;
+
+    public static Dump load(String host, String projectId) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        String base = "http://" + host + "/v1/projects/" + projectId + "/databases/(default)/documents/";
+
+        Dump dump = new Dump();
+        for (String collection : new String[]{Dump.USERS, Dump.DARES, Dump.COMPETITIONS}) {
+            String pageToken = null;
+            do {
+                String url = base + collection + "?pageSize=" + PAGE_SIZE
+                        + (pageToken != null ? "&pageToken=" + URLEncoder.encode(pageToken, StandardCharsets.UTF_8) : "");
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                        .header("Authorization", "Bearer owner")
+                        .GET()
+                        .build();
+
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IOException("Emulator returned " + response.statusCode() + " for " + collection
+                            + ": " + response.body());
+                }
+
+                JsonObject page = JsonParser.parseString(response.body()).getAsJsonObject();
+                if (page.has("documents")) {
+                    for (JsonElement doc : page.getAsJsonArray("documents")) {
+                        JsonObject document = doc.getAsJsonObject();
+                        String name = document.get("name").getAsString();
+                        String id = name.substring(name.lastIndexOf('/') + 1);
+                        dump.add(collection, id, fields(document.getAsJsonObject("fields")));
+                    }
+                }
+                pageToken = page.has("nextPageToken") ? page.get("nextPageToken").getAsString() : null;
+            } while (pageToken != null);
+        }
+        return dump;
+    }
+
+    private static Map<String, Object> fields(JsonObject fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (fields == null) return map;
+        for (Map.Entry<String, JsonElement> entry : fields.entrySet()) {
+            map.put(entry.getKey(), value(entry.getValue().getAsJsonObject()));
+        }
+        return map;
+    }
+
+    // Firestore REST values are typed wrappers: {"integerValue": "5"}, {"mapValue": {...}}, ...
+    private static Object value(JsonObject value) {
+        if (value.has("integerValue")) return Long.parseLong(value.get("integerValue").getAsString());
+        if (value.has("doubleValue")) return value.get("doubleValue").getAsDouble();
+        if (value.has("stringValue")) return value.get("stringValue").getAsString();
+        if (value.has("booleanValue")) return value.get("booleanValue").getAsBoolean();
+        if (value.has("timestampValue")) {
+            return Instant.parse(value.get("timestampValue").getAsString()).toEpochMilli();
+        }
+        if (value.has("mapValue")) return fields(value.getAsJsonObject("mapValue").getAsJsonObject("fields"));
+        if (value.has("arrayValue")) {
+            List<Object> list = new ArrayList<>();
+            JsonArray values = value.getAsJsonObject("arrayValue").getAsJsonArray("values");
+            if (values != null) {
+                for (JsonElement item : values) list.add(value(item.getAsJsonObject()));
+            }
+            return list;
+        }
+        return null;
+    }
+}
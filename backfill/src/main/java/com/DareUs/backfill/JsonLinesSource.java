@@ -0,0 +1,95 @@
+package com.DareUs.backfill;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an export directory with one JSON document per line:
+ *
+ *   dareus.jsonl, dares.jsonl, monthlyCompetitions.jsonl
+ *
+ * Each line is the document's fields plus its ID under "id". Timestamps are expected
+ * as epoch millis, the same as the app stores them.
+ */
+public class JsonLinesSource {
+
+    public static Dump load(Path dir) throws IOException {
+        Dump dump = new Dump();
+        for (String collection : new String[]{Dump.USERS, Dump.DARES, Dump.COMPETITIONS}) {
+            Path file = dir.resolve(collection + ".jsonl");
+            if (!Files.exists(file)) {
+                throw new IOException("Missing " + file);
+            }
+            read(file, collection, dump);
+        }
+        return dump;
+    }
+
+    private static void read(Path file, String collection, Dump dump) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) continue;
+
+                JsonObject json;
+                try {
+                    json = JsonParser.parseString(line).getAsJsonObject();
+                } catch (RuntimeException e) {
+                    throw new IOException(file.getFileName() + ":" + lineNumber + " is not a JSON object", e);
+                }
+
+                JsonElement id = json.remove("id");
+                if (id == null || !id.isJsonPrimitive()) {
+                    throw new IOException(file.getFileName() + ":" + lineNumber + " has no id");
+                }
+                dump.add(collection, id.getAsString(), toMap(json));
+            }
+        }
+    }
+
+    private static Map<String, Object> toMap(JsonObject json) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            map.put(entry.getKey(), toJava(entry.getValue()));
+        }
+        return map;
+    }
+
+    // Whole numbers come back as Long like the Firestore SDK returns them
+    private static Object toJava(JsonElement element) {
+        if (element == null || element.isJsonNull()) return null;
+        if (element.isJsonObject()) return toMap(element.getAsJsonObject());
+        if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            List<Object> list = new ArrayList<>(array.size());
+            for (JsonElement item : array) list.add(toJava(item));
+            return list;
+        }
+
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) return primitive.getAsBoolean();
+        if (primitive.isString()) return primitive.getAsString();
+
+        BigDecimal number = primitive.getAsBigDecimal();
+        try {
+            return number.longValueExact();
+        } catch (ArithmeticException e) {
+            return number.doubleValue();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.DareUs.backfill;
+
+import com.DareUs.app.BadgeEvent;
+import com.DareUs.app.BadgeRuleEngine;
+import com.DareUs.app.BadgeSnapshot;
+import com.DareUs.app.BadgeStats;
+import com.DareUs.app.BadgeSystem;
+import com.DareUs.app.PartnerTimeline;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
+
+/**
+ * Recomputes one user's badges from scratch - the same rules the app runs, fed from the
+ * full history instead of one event at a time. Stateless apart from the shared read-only
+ * dump, so users can be replayed in parallel.
+ */
+public class UserReplay {
+
+    // Nothing stored says whether these happened (prize reveals, code regenerations, the
+    // daily competition snapshots) - kept if owned, never awarded or revoked
+    static final Set<String> NOT_REPLAYABLE = new HashSet<>(Arrays.asList(
+            "code_breaker", "second_chance", "comeback_kid", "final_hour", "early_bird_winner"));
+
+    // Time of day and day boundaries - the app counted these in each device's own zone,
+    // the replay only knows --timezone. Awarded when the replay agrees, never revoked
+    static final Set<String> LOCAL_TIME = new HashSet<>(Arrays.asList(
+            "night_owl", "early_bird", "weekend_warrior",
+            "warm_up", "getting_hot", "on_fire", "blazing", "inferno", "dynamic_duo",
+            "perfect_match", "synchronized_souls"));
+
+    private static final Set<String> AWARD_ONLY = new HashSet<>(LOCAL_TIME);
+
+    static {
+        AWARD_ONLY.addAll(NOT_REPLAYABLE);
+    }
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private final Dump dump;
+    private final TimeZone timeZone;
+    private final String currentMonth;
+
+    public UserReplay(Dump dump, TimeZone timeZone, String currentMonth) {
+        this.dump = dump;
+        this.timeZone = timeZone;
+        this.currentMonth = currentMonth;
+    }
+
+    public BadgeDiff replay(String userId) {
+        Map<String, Object> user = dump.getUser(userId);
+        String partnerId = Dump.asString(user.get("partnerId"));
+        Map<String, Object> partner = dump.getUser(partnerId);
+
+        History mine = history(userId);
+        History theirs = partner != null ? history(partnerId) : null;
+
+        BadgeSnapshot snapshot = new BadgeSnapshot(user, partner, mine.stats)
+                .set("streakCount", mine.longestStreak)
+                .set("nightOwlCount", mine.nightOwl)
+                .set("earlyBirdCount", mine.earlyBird)
+                .set("weekendWarriorCount", mine.weekend)
+                // Server counts every send, but older accounts predate that
+                .set("daresSent", Math.max(Dump.asLong(user.get("daresSent")), dump.getSentCount(userId)));
+
+        if (theirs != null) {
+            PartnerTimeline timeline = new PartnerTimeline(timeZone);
+            timeline.merge(mine.times, theirs.times);
+            snapshot.set("sameDayCompletions", timeline.getSameDayPairs())
+                    .set("synchronizedCompletions", timeline.getSynchronizedPairs());
+
+            // Dynamic Duo needs both on a 7+ day streak at the same time
+            boolean overlap = !Collections.disjoint(mine.hotDays, theirs.hotDays);
+            snapshot.setPartner("streakCount", overlap ? theirs.longestStreak : 0);
+        }
+
+        Set<String> earned = new TreeSet<>();
+        earned.addAll(BadgeRuleEngine.evaluate(BadgeEvent.DARE_COMPLETED, snapshot));
+        earned.addAll(BadgeRuleEngine.evaluate(BadgeEvent.DARE_SENT, snapshot));
+        earned.addAll(BadgeRuleEngine.evaluate(BadgeEvent.CODE_SHARED, snapshot));
+
+        snapshot.set(BadgeRuleEngine.SCREENS_VISITED, explorerScreens(user.get("visitedScreens")));
+        earned.addAll(BadgeRuleEngine.evaluate(BadgeEvent.SCREEN_VISITED, snapshot));
+
+        if (partnerId != null) {
+            earned.addAll(replayCompetitions(userId, partnerId, user));
+        }
+        earned.removeAll(NOT_REPLAYABLE);
+
+        return BadgeDiff.between(userId, owned(user.get("unlockedBadges")), earned, AWARD_ONLY);
+    }
+
+    private History history(String userId) {
+        List<Dump.Completion> dares = new ArrayList<>(dump.getCompletedDares(userId));
+        dares.sort((a, b) -> Long.compare(a.completedAt, b.completedAt));
+
+        History history = new History();
+        Calendar cal = Calendar.getInstance(timeZone);
+        long lastDay = Long.MIN_VALUE;
+        int streak = 0;
+
+        for (Dump.Completion dare : dares) {
+            long completedAt = dare.completedAt;
+            history.stats.countCompletion(dare.category, dare.sentAt, completedAt);
+            history.times.add(completedAt);
+
+            cal.setTimeInMillis(completedAt);
+            int hour = cal.get(Calendar.HOUR_OF_DAY);
+            int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+            if (hour >= 22) history.nightOwl++;
+            if (hour < 8) history.earlyBird++;
+            if (dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY) history.weekend++;
+
+            // Same streak rules as the app: same day no change, next day +1, gap resets
+            long day = Math.floorDiv(completedAt + timeZone.getOffset(completedAt), DAY_MILLIS);
+            if (day != lastDay) {
+                streak = day == lastDay + 1 ? streak + 1 : 1;
+                lastDay = day;
+            }
+            history.longestStreak = Math.max(history.longestStreak, streak);
+            if (streak >= 7) history.hotDays.add(day);
+        }
+
+        history.stats.getSpeedWindows().rebuild(history.times);
+        return history;
+    }
+
+    // Walks the couple's closed months in order, carrying the same running counters the
+    // month-close job keeps, and evaluates each month as it would have closed
+    private Set<String> replayCompetitions(String userId, String partnerId, Map<String, Object> user) {
+        String coupleId = userId.compareTo(partnerId) < 0 ? userId + "_" + partnerId : partnerId + "_" + userId;
+
+        List<Map<String, Object>> months = new ArrayList<>();
+        for (Map<String, Object> competition : dump.getCompetitions(coupleId)) {
+            String month = Dump.asString(competition.get("month"));
+            if (month != null && (Boolean.TRUE.equals(competition.get("closed")) || month.compareTo(currentMonth) < 0)) {
+                months.add(competition);
+            }
+        }
+        months.sort((a, b) -> ((String) a.get("month")).compareTo((String) b.get("month")));
+
+        Set<String> earned = new TreeSet<>();
+        int winStreak = 0;
+        int totalWins = 0;
+        int participated = 0;
+
+        for (Map<String, Object> competition : months) {
+            boolean iAmUser1 = userId.equals(competition.get("user1Id"));
+            long user1Points = points(competition, "User1Points");
+            long user2Points = points(competition, "User2Points");
+            long myPoints = iAmUser1 ? user1Points : user2Points;
+            long partnerPoints = iAmUser1 ? user2Points : user1Points;
+
+            participated++;
+            if (myPoints > partnerPoints) {
+                winStreak++;
+                totalWins++;
+            } else {
+                winStreak = 0;
+            }
+
+            BadgeSnapshot snapshot = new BadgeSnapshot(user, null, null)
+                    .set(BadgeRuleEngine.MONTHLY_POINTS, myPoints)
+                    .set(BadgeRuleEngine.PARTNER_MONTHLY_POINTS, partnerPoints)
+                    .set("winStreak", winStreak)
+                    .set("totalWins", totalWins)
+                    .set("competitionsParticipated", participated);
+            earned.addAll(BadgeRuleEngine.evaluate(BadgeEvent.COMPETITION_CLOSED, snapshot));
+        }
+        return earned;
+    }
+
+    // Frozen final points if the month was closed, else the last running total
+    private static long points(Map<String, Object> competition, String suffix) {
+        Object value = competition.get("final" + suffix);
+        if (!(value instanceof Number)) value = competition.get("current" + suffix);
+        return Dump.asLong(value);
+    }
+
+    private static int explorerScreens(Object visited) {
+        if (!(visited instanceof List)) return 0;
+        int count = 0;
+        for (String screen : BadgeRuleEngine.EXPLORER_SCREENS) {
+            if (((List<?>) visited).contains(screen)) count++;
+        }
+        return count;
+    }
+
+    private static Set<String> owned(Object unlocked) {
+        Set<String> owned = new TreeSet<>();
+        if (unlocked instanceof List) {
+            for (Object badgeId : (List<?>) unlocked) {
+                if (badgeId instanceof String && BadgeSystem.ordinalOf((String) badgeId) >= 0) {
+                    owned.add((String) badgeId);
+                }
+            }
+        }
+        return owned;
+    }
+
+    private static class History {
+        final BadgeStats stats = new BadgeStats();
+        final List<Long> times = new ArrayList<>();
+        final Set<Long> hotDays = new HashSet<>();
+        int longestStreak;
+        int nightOwl;
+        int earlyBird;
+        int weekend;
+    }
+}
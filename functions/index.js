@@ -226,33 +226,82 @@ function calculateBonusPoints(basePoints, sentAt, completedAt) {
 }
 
 /**
- * Award points to a user with validation
+ * Wall-clock time in New York as a local Date - competitions run on New York time
  */
-async function awardPoints(userId, points, reason) {
-  try {
-    const userRef = db.collection('dareus').doc(userId);
-    const userDoc = await userRef.get();
+function newYorkNow() {
+  return new Date(new Date().toLocaleString('en-US', {timeZone: 'America/New_York'}));
+}
 
+/**
+ * Competition month (yyyy-MM) in New York time, the month part of every
+ * monthlyCompetitions doc id. offset -1 is last month, for the month-close job
+ */
+function competitionMonth(offset = 0) {
+  const now = newYorkNow();
+  const month = new Date(now.getFullYear(), now.getMonth() + offset, 1);
+  return `${month.getFullYear()}-${String(month.getMonth() + 1).padStart(2, '0')}`;
+}
+
+/**
+ * Award points for a dare in one transaction with everything that has to move with
+ * them: the dare's bookkeeping, the user's counters, and the couple's running total
+ * on this month's monthlyCompetitions doc. The leaderboard renders from that doc
+ * alone, so it must never drift from the points awarded.
+ *
+ * Triggers can fire more than once - markerField is stamped on the dare and a dare
+ * that already has it is skipped. Returns true if points were awarded.
+ */
+async function awardDarePoints({dareRef, markerField, dareUpdate, userId, partnerId, points, reason, userUpdate}) {
+  const userRef = db.collection('dareus').doc(userId);
+  const month = competitionMonth();
+  const [user1Id, user2Id] = partnerId ? [userId, partnerId].sort() : [null, null];
+  const coupleId = partnerId ? `${user1Id}_${user2Id}` : null;
+  const competitionRef = partnerId ?
+    db.collection('monthlyCompetitions').doc(`${coupleId}_${month}`) : null;
+
+  return db.runTransaction(async (transaction) => {
+    const dareDoc = await transaction.get(dareRef);
+    const userDoc = await transaction.get(userRef);
+    const competitionDoc = competitionRef ? await transaction.get(competitionRef) : null;
+
+    if (!dareDoc.exists || dareDoc.data()[markerField]) {
+      console.log(`Points for dare ${dareRef.id} already awarded - skipping`);
+      return false;
+    }
     if (!userDoc.exists) {
       console.error(`User ${userId} not found`);
       return false;
     }
 
-    const currentPoints = userDoc.data().points || 0;
-    const newPoints = currentPoints + points;
-
-    await userRef.update({
-      points: newPoints,
+    transaction.update(dareRef, {
+      ...dareUpdate,
+      [markerField]: Date.now(),
+      updatedAt: admin.firestore.FieldValue.serverTimestamp()
+    });
+    transaction.update(userRef, {
+      ...userUpdate,
+      points: admin.firestore.FieldValue.increment(points),
       lastPointsUpdate: admin.firestore.FieldValue.serverTimestamp(),
       lastPointsReason: reason
     });
 
-    console.log(`Awarded ${points} points to ${userId} for: ${reason}. New total: ${newPoints}`);
+    // Creates the month's doc on the first dare if nobody has opened the leaderboard yet.
+    // A closed month is frozen - closeCompetition already paid out on its totals.
+    if (competitionRef && !(competitionDoc.exists && competitionDoc.data().closed)) {
+      transaction.set(competitionRef, {
+        coupleId: coupleId,
+        month: month,
+        user1Id: user1Id,
+        user2Id: user2Id,
+        [userId === user1Id ? 'currentUser1Points' : 'currentUser2Points']:
+          admin.firestore.FieldValue.increment(points),
+        lastUpdated: Date.now()
+      }, {merge: true});
+    }
+
+    console.log(`Awarded ${points} points to ${userId} for: ${reason}`);
     return true;
-  } catch (error) {
-    console.error(`Error awarding points to ${userId}:`, error);
-    return false;
-  }
+  });
 }
 
 // ========================================
@@ -450,25 +499,26 @@ exports.onDareCompleted = onDocumentUpdated('dares/{dareId}', async (event) => {
         // Calculate actual points with time bonus
         const pointsCalc = calculateBonusPoints(basePoints, sentAt, completedAt);
 
-        // Store calculated points back to dare document
-        await change.after.ref.update({
-          earnedPoints: pointsCalc.totalPoints,
-          bonusPoints: pointsCalc.bonusPoints,
-          basePoints: basePoints,
-          completionDay: pointsCalc.daysElapsed
-        });
-
-        // Award points to the completer
-        await awardPoints(
-          after.toUserId,
-          pointsCalc.totalPoints,
-          `Completed ${after.category} dare in ${pointsCalc.daysElapsed} days`
-        );
-
-        // Increment total dares completed counter
-        await db.collection('dareus').doc(after.toUserId).update({
-          totalDares: admin.firestore.FieldValue.increment(1)
+        // Calculated points on the dare, points + counter on the completer, and the
+        // couple's monthly total - all in one transaction
+        const awarded = await awardDarePoints({
+          dareRef: change.after.ref,
+          markerField: 'pointsAwardedAt',
+          dareUpdate: {
+            earnedPoints: pointsCalc.totalPoints,
+            bonusPoints: pointsCalc.bonusPoints,
+            basePoints: basePoints,
+            completionDay: pointsCalc.daysElapsed
+          },
+          userId: after.toUserId,
+          partnerId: after.fromUserId,
+          points: pointsCalc.totalPoints,
+          reason: `Completed ${after.category} dare in ${pointsCalc.daysElapsed} days`,
+          userUpdate: {
+            totalDares: admin.firestore.FieldValue.increment(1)
+          }
         });
+        if (!awarded) return null;
 
         console.log(`✅ Awarded ${pointsCalc.totalPoints} points (${basePoints} base + ${pointsCalc.bonusPoints} bonus)`);
 
@@ -574,7 +624,8 @@ exports.onDareSent = onDocumentCreated('dares/{dareId}', async (event) => {
           status: 'rejected',
           rejectedAt: Date.now(),
           rejectionReason: 'inappropriate_content',
-          rejectionMessage: contentValidation.errors[0]
+          rejectionMessage: contentValidation.errors[0],
+          updatedAt: admin.firestore.FieldValue.serverTimestamp()
         });
 
         return null;
@@ -599,7 +650,8 @@ exports.onDareSent = onDocumentCreated('dares/{dareId}', async (event) => {
           status: 'rejected',
           rejectedAt: Date.now(),
           rejectionReason: 'rate_limit_exceeded',
-          rejectionMessage: rateLimitCheck.reason
+          rejectionMessage: rateLimitCheck.reason,
+          updatedAt: admin.firestore.FieldValue.serverTimestamp()
         });
 
         return null;
@@ -607,18 +659,21 @@ exports.onDareSent = onDocumentCreated('dares/{dareId}', async (event) => {
 
       const senderPoints = dare.points || 1;
 
-      // Award points to sender
-      await awardPoints(
-        dare.fromUserId,
-        senderPoints,
-        `Sent ${dare.category} dare`
-      );
-
-      // Increment dares sent counter
-      await db.collection('dareus').doc(dare.fromUserId).update({
-        daresSent: admin.firestore.FieldValue.increment(1),
-        lastDareSentAt: Date.now()
+      // Award points + sent counter to the sender, and add to the couple's monthly total
+      const awarded = await awardDarePoints({
+        dareRef: snap.ref,
+        markerField: 'senderPointsAwardedAt',
+        dareUpdate: {},
+        userId: dare.fromUserId,
+        partnerId: dare.toUserId,
+        points: senderPoints,
+        reason: `Sent ${dare.category} dare`,
+        userUpdate: {
+          daresSent: admin.firestore.FieldValue.increment(1),
+          lastDareSentAt: Date.now()
+        }
       });
+      if (!awarded) return null;
 
       console.log(`✅ Awarded ${senderPoints} points to sender (${rateLimitCheck.remaining} remaining this week)`);
       return null;
@@ -1146,6 +1201,148 @@ exports.checkDareRateLimit = onCall(async (request) => {
 // ========================================
 // BADGE BONUS POINTS
 // ========================================
+
+// Must match BadgeSystem.BADGES in the app - IDs, emoji and names
+const BADGE_CATALOG = {
+  lightning_lover: { emoji: '⚡', name: 'Lightning Lover' },
+  flash_forward: { emoji: '🏃‍♂️', name: 'Flash Forward' },
+  speed_racer: { emoji: '🏎️', name: 'Speed Racer' },
+  instant_gratification: { emoji: '💨', name: 'Instant Gratification' },
+  sweet_soul: { emoji: '🍯', name: 'Sweet Soul' },
+  playful_spirit: { emoji: '🎭', name: 'Playful Spirit' },
+  adventure_seeker: { emoji: '🗺️', name: 'Adventure Seeker' },
+  passionate_heart: { emoji: '❤️‍🔥', name: 'Passionate Heart' },
+  wild_one: { emoji: '🦁', name: 'Wild One' },
+  renaissance_lover: { emoji: '🎨', name: 'Renaissance Lover' },
+  warm_up: { emoji: '🔥', name: 'Warm-Up' },
+  getting_hot: { emoji: '🌡️', name: 'Getting Hot' },
+  on_fire: { emoji: '🔥', name: 'On Fire' },
+  blazing: { emoji: '🌋', name: 'Blazing' },
+  inferno: { emoji: '☄️', name: 'Inferno' },
+  perfect_match: { emoji: '💑', name: 'Perfect Match' },
+  synchronized_souls: { emoji: '⚡', name: 'Synchronized Souls' },
+  power_couple: { emoji: '💪', name: 'Power Couple' },
+  dynamic_duo: { emoji: '👥', name: 'Dynamic Duo' },
+  monthly_champion: { emoji: '🏆', name: 'Monthly Champion' },
+  close_call: { emoji: '😅', name: 'Close Call' },
+  comeback_kid: { emoji: '🔄', name: 'Comeback Kid' },
+  dominator: { emoji: '👑', name: 'Dominator' },
+  competitive_spirit: { emoji: '⚔️', name: 'Competitive Spirit' },
+  hat_trick: { emoji: '🎩', name: 'Hat Trick' },
+  rivalry_master: { emoji: '🥊', name: 'Rivalry Master' },
+  final_hour: { emoji: '⏰', name: 'Final Hour' },
+  early_bird_winner: { emoji: '🐦', name: 'Early Bird Winner' },
+  photo_finish: { emoji: '📸', name: 'Photo Finish' },
+  first_steps: { emoji: '👶', name: 'First Steps' },
+  getting_started: { emoji: '🌱', name: 'Getting Started' },
+  point_collector: { emoji: '💎', name: 'Point Collector' },
+  point_master: { emoji: '🏅', name: 'Point Master' },
+  point_legend: { emoji: '🌟', name: 'Point Legend' },
+  generous_giver: { emoji: '🎁', name: 'Generous Giver' },
+  dare_devil: { emoji: '😈', name: 'Dare Devil' },
+  night_owl: { emoji: '🦉', name: 'Night Owl' },
+  early_bird: { emoji: '🐦', name: 'Early Bird' },
+  weekend_warrior: { emoji: '⚔️', name: 'Weekend Warrior' },
+  social_butterfly: { emoji: '🦋', name: 'Social Butterfly' },
+  code_breaker: { emoji: '🔍', name: 'Code Breaker' },
+  second_chance: { emoji: '🔄', name: 'Second Chance' },
+  explorer: { emoji: '🧭', name: 'Explorer' }
+};
+
+const BADGE_BONUS_POINTS = 50;
+
+/**
+ * Award any number of badges in one transaction: skip ones already owned, add the
+ * bonus points once, and write the userBadges display docs in the same commit.
+ * Then send the partner a single combined notification.
+ */
+async function awardBadges(userId, badgeIds) {
+  const userRef = db.collection('dareus').doc(userId);
+
+  const result = await db.runTransaction(async (transaction) => {
+    const userDoc = await transaction.get(userRef);
+    if (!userDoc.exists) {
+      throw new HttpsError('not-found', 'User not found');
+    }
+
+    const owned = new Set(userDoc.data().unlockedBadges || []);
+    const awarded = badgeIds.filter((id) => !owned.has(id));
+    const alreadyUnlocked = badgeIds.filter((id) => owned.has(id));
+
+    if (awarded.length === 0) {
+      return { awarded, alreadyUnlocked, pointsAwarded: 0, userData: userDoc.data() };
+    }
+
+    const pointsAwarded = awarded.length * BADGE_BONUS_POINTS;
+    transaction.update(userRef, {
+      points: admin.firestore.FieldValue.increment(pointsAwarded),
+      unlockedBadges: admin.firestore.FieldValue.arrayUnion(...awarded),
+      lastPointsUpdate: admin.firestore.FieldValue.serverTimestamp(),
+      lastPointsReason: `Unlocked badge${awarded.length > 1 ? 's' : ''}: ${awarded.join(', ')}`
+    });
+
+    // Deterministic IDs so a retried call can't duplicate display docs
+    const unlockedAt = Date.now();
+    for (const badgeId of awarded) {
+      transaction.set(db.collection('userBadges').doc(`${userId}_${badgeId}`), {
+        badgeId,
+        userId,
+        unlockedAt
+      });
+    }
+
+    return { awarded, alreadyUnlocked, pointsAwarded, userData: userDoc.data() };
+  });
+
+  if (result.awarded.length > 0) {
+    await notifyPartnerOfBadges(userId, result.userData, result.awarded);
+  }
+
+  return result;
+}
+
+async function notifyPartnerOfBadges(userId, userData, badgeIds) {
+  try {
+    const partnerId = userData.partnerId;
+    if (!partnerId) return;
+
+    const partnerDoc = await db.collection('dareus').doc(partnerId).get();
+    const partnerToken = partnerDoc.exists ? partnerDoc.data().fcmToken : null;
+    if (!partnerToken) return;
+
+    const name = userData.firstName || 'Your partner';
+    const badges = badgeIds.map((id) => BADGE_CATALOG[id]);
+    const title = badges.length === 1
+      ? `${badges[0].emoji} ${name} unlocked a badge!`
+      : `🏆 ${name} unlocked ${badges.length} badges!`;
+    const body = badges.map((badge) => `${badge.emoji} ${badge.name}`).join(', ');
+
+    await db.collection('notifications').add({
+      toToken: partnerToken,
+      fromUserId: userId,
+      toUserId: partnerId,
+      title,
+      body,
+      type: 'badge_unlock',
+      badgeIds,
+      timestamp: Date.now(),
+      sent: false
+    });
+  } catch (error) {
+    // Badges are already awarded - a failed notification shouldn't fail the call
+    console.error(`Error notifying partner of badges for ${userId}:`, error);
+  }
+}
+
+async function rejectInvalidBadges(userId, badgeIds) {
+  const invalid = badgeIds.filter((id) => !BADGE_CATALOG[id]);
+  if (invalid.length > 0) {
+    console.log(`⚠️ SECURITY: Invalid badge ID attempted: ${invalid.join(', ')} by user ${userId}`);
+    await logAuditEvent('badge_fraud_attempt', userId, { badgeIds: invalid });
+    throw new HttpsError('invalid-argument', 'Invalid badge ID');
+  }
+}
+
 exports.awardBadgeBonus = onCall(async (request) => {
   // Verify user is authenticated
   if (!request.auth) {
@@ -1161,53 +1358,62 @@ exports.awardBadgeBonus = onCall(async (request) => {
 
   try {
     // SECURITY: Validate that this is a real badge ID
-    const validBadgeIds = [
-      'first_dare', 'dare_master', 'speed_demon', 'consistent_player',
-      'social_butterfly', 'negotiator', 'high_roller', 'streak_master',
-      'category_expert', 'perfect_month', 'comeback_kid', 'night_owl',
-      'early_bird', 'weekend_warrior', 'power_couple', 'code_breaker',
-      'mystery_master', 'dare_legend', 'completionist', 'team_player'
-    ];
+    await rejectInvalidBadges(userId, [badgeId]);
+
+    const result = await awardBadges(userId, [badgeId]);
 
-    if (!validBadgeIds.includes(badgeId)) {
-      console.log(`⚠️ SECURITY: Invalid badge ID attempted: ${badgeId} by user ${userId}`);
-      await logAuditEvent('badge_fraud_attempt', userId, { badgeId });
-      throw new HttpsError('invalid-argument', 'Invalid badge ID');
+    if (result.awarded.length === 0) {
+      console.log(`Badge ${badgeId} already awarded to ${userId}`);
+      return { success: false, message: 'Badge already unlocked' };
     }
 
-    // Verify badge hasn't already been awarded
-    const userRef = db.collection('dareus').doc(userId);
-    const userDoc = await userRef.get();
+    console.log(`✅ Badge ${badgeId} unlocked for ${userId}, awarded ${result.pointsAwarded} points`);
 
-    if (!userDoc.exists) {
-      throw new HttpsError('not-found', 'User not found');
-    }
+    return {
+      success: true,
+      pointsAwarded: result.pointsAwarded,
+      message: `Badge unlocked! +${result.pointsAwarded} points`
+    };
+  } catch (error) {
+    if (error instanceof HttpsError) throw error;
+    console.error(`Error awarding badge bonus:`, error);
+    throw new HttpsError('internal', error.message);
+  }
+});
 
-    const unlockedBadges = userDoc.data().unlockedBadges || [];
+// Batched version - everything one badge evaluation earned, in one round trip
+exports.awardBadgeBonuses = onCall(async (request) => {
+  if (!request.auth) {
+    throw new HttpsError('unauthenticated', 'User must be authenticated');
+  }
 
-    if (unlockedBadges.includes(badgeId)) {
-      console.log(`Badge ${badgeId} already awarded to ${userId}`);
-      return { success: false, message: 'Badge already unlocked' };
-    }
+  const userId = request.auth.uid;
+  const badgeIds = request.data.badgeIds;
+
+  if (!Array.isArray(badgeIds) || badgeIds.length === 0) {
+    throw new HttpsError('invalid-argument', 'Badge IDs required');
+  }
+  if (badgeIds.length > Object.keys(BADGE_CATALOG).length) {
+    throw new HttpsError('invalid-argument', 'Too many badge IDs');
+  }
 
-    // Award 50 bonus points for badge unlock
-    const bonusPoints = 50;
-    await awardPoints(userId, bonusPoints, `Unlocked badge: ${badgeId}`);
+  try {
+    const uniqueIds = [...new Set(badgeIds)];
+    await rejectInvalidBadges(userId, uniqueIds);
 
-    // Mark badge as unlocked
-    await userRef.update({
-      unlockedBadges: admin.firestore.FieldValue.arrayUnion(badgeId)
-    });
+    const result = await awardBadges(userId, uniqueIds);
 
-    console.log(`✅ Badge ${badgeId} unlocked for ${userId}, awarded ${bonusPoints} points`);
+    console.log(`✅ Badges [${result.awarded.join(', ')}] unlocked for ${userId}, awarded ${result.pointsAwarded} points`);
 
     return {
-      success: true,
-      pointsAwarded: bonusPoints,
-      message: `Badge unlocked! +${bonusPoints} points`
+      success: result.awarded.length > 0,
+      awarded: result.awarded,
+      alreadyUnlocked: result.alreadyUnlocked,
+      pointsAwarded: result.pointsAwarded
     };
   } catch (error) {
-    console.error(`Error awarding badge bonus:`, error);
+    if (error instanceof HttpsError) throw error;
+    console.error(`Error awarding badge bonuses:`, error);
     throw new HttpsError('internal', error.message);
   }
 });
@@ -1498,13 +1704,13 @@ exports.createDailyCompetitionSnapshots = require('firebase-functions/v2/schedul
     console.log('📸 Creating daily competition snapshots...');
 
     try {
-      // Get current month code
-      const now = new Date();
-      const monthCode = `${now.getFullYear()}-${now.getMonth() + 1}`;
+      // New York time - at 11:59 PM on the last day UTC has already rolled into next month
+      const month = competitionMonth();
+      const dayOfMonth = newYorkNow().getDate();
 
       // Get all active competitions for this month
       const competitions = await db.collection('monthlyCompetitions')
-        .where('monthCode', '==', monthCode)
+        .where('month', '==', month)
         .get();
 
       let snapshotCount = 0;
@@ -1516,11 +1722,11 @@ exports.createDailyCompetitionSnapshots = require('firebase-functions/v2/schedul
         await competitionDoc.ref.collection('dailySnapshots').add({
           timestamp: admin.firestore.FieldValue.serverTimestamp(),
           timestampMs: Date.now(),
-          user1Points: data.user1Points || 0,
-          user2Points: data.user2Points || 0,
+          user1Points: data.currentUser1Points || 0,
+          user2Points: data.currentUser2Points || 0,
           user1Id: data.user1Id,
           user2Id: data.user2Id,
-          dayOfMonth: now.getDate()
+          dayOfMonth
         });
 
         snapshotCount++;
@@ -1534,4 +1740,118 @@ exports.createDailyCompetitionSnapshots = require('firebase-functions/v2/schedul
       throw error;
     }
   }
-);
\ No newline at end of file
+);
+
+// ========================================
+// MONTHLY COMPETITION CLOSE (running win counters)
+// ========================================
+/**
+ * Scheduled function that closes last month's competitions
+ * Runs just after midnight on the 1st
+ * Keeps winStreak / totalWins / competitionsParticipated on each user doc up to date,
+ * so hat_trick, rivalry_master and competitive_spirit never have to scan past months
+ */
+exports.closeMonthlyCompetitions = require('firebase-functions/v2/scheduler').onSchedule(
+  {
+    schedule: '5 0 1 * *', // 12:05 AM on the 1st of every month
+    timeZone: 'America/New_York',
+    region: 'us-central1'
+  },
+  async (event) => {
+    console.log('🏁 Closing monthly competitions...');
+
+    try {
+      const month = competitionMonth(-1);
+
+      const competitions = await db.collection('monthlyCompetitions')
+        .where('month', '==', month)
+        .get();
+
+      let closedCount = 0;
+      const failed = [];
+
+      // One bad competition mustn't stop the rest - each close is its own transaction
+      for (const competitionDoc of competitions.docs) {
+        try {
+          const closed = await closeCompetition(competitionDoc.ref, month);
+          if (closed) closedCount++;
+        } catch (error) {
+          console.error(`❌ Failed to close competition ${competitionDoc.id}:`, error);
+          failed.push(competitionDoc.id);
+        }
+      }
+
+      console.log(`✅ Closed ${closedCount} competitions for ${month}`);
+      if (failed.length > 0) {
+        // Closed ones are marked, so re-running the job only picks up these
+        throw new Error(`Failed to close ${failed.length} competitions for ${month}: ${failed.join(', ')}`);
+      }
+      return {success: true, closed: closedCount};
+
+    } catch (error) {
+      console.error('Error closing competitions:', error);
+      throw error;
+    }
+  }
+);
+
+/**
+ * Close one competition: freeze the final points and update both users' running
+ * counters. Safe to re-run - the closed marker is checked in the same transaction
+ * that bumps the counters, so a retried job can't count a month twice. A user whose
+ * doc is gone (deleted account) is skipped; the competition still closes.
+ */
+async function closeCompetition(competitionRef, month) {
+  return db.runTransaction(async (transaction) => {
+    const competitionDoc = await transaction.get(competitionRef);
+    const data = competitionDoc.data();
+
+    if (!data || data.closed || !data.user1Id || !data.user2Id) {
+      return false;
+    }
+
+    // All reads before any writes
+    const userRefs = [data.user1Id, data.user2Id].map((id) => db.collection('dareus').doc(id));
+    const userDocs = await Promise.all(userRefs.map((ref) => transaction.get(ref)));
+
+    const user1Points = data.currentUser1Points || 0;
+    const user2Points = data.currentUser2Points || 0;
+    const winnerId = user1Points > user2Points ? data.user1Id :
+                     user2Points > user1Points ? data.user2Id : null;
+
+    const results = [
+      {userId: data.user1Id, myPoints: user1Points, partnerPoints: user2Points, doc: userDocs[0]},
+      {userId: data.user2Id, myPoints: user2Points, partnerPoints: user1Points, doc: userDocs[1]}
+    ];
+
+    for (const result of results) {
+      if (!result.doc.exists) {
+        console.warn(`⚠️ User ${result.userId} not found - skipping their counters for ${month}`);
+        continue;
+      }
+      const won = result.userId === winnerId;
+      transaction.update(result.doc.ref, {
+        // A loss or a tie ends the streak
+        winStreak: won ? admin.firestore.FieldValue.increment(1) : 0,
+        totalWins: admin.firestore.FieldValue.increment(won ? 1 : 0),
+        competitionsParticipated: admin.firestore.FieldValue.increment(1),
+        lastCompetition: {
+          month: month,
+          myPoints: result.myPoints,
+          partnerPoints: result.partnerPoints,
+          result: won ? 'won' : (winnerId ? 'lost' : 'tied')
+        }
+      });
+    }
+
+    transaction.update(competitionRef, {
+      closed: true,
+      closedAt: admin.firestore.FieldValue.serverTimestamp(),
+      winnerId: winnerId,
+      finalUser1Points: user1Points,
+      finalUser2Points: user2Points
+    });
+
+    return true;
+  });
+}